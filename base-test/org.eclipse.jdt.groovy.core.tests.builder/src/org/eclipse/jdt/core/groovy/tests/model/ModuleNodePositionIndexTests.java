@@ -0,0 +1,224 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.model;
+
+import groovyjarjarasm.asm.Opcodes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.FieldNode;
+import org.codehaus.groovy.ast.InnerClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.codehaus.groovy.ast.expr.ArgumentListExpression;
+import org.codehaus.groovy.ast.expr.ClosureExpression;
+import org.codehaus.groovy.ast.expr.ConstantExpression;
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.codehaus.groovy.ast.expr.VariableExpression;
+import org.codehaus.groovy.ast.stmt.BlockStatement;
+import org.codehaus.groovy.ast.stmt.ExpressionStatement;
+import org.codehaus.groovy.ast.stmt.Statement;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.jdt.groovy.model.ModuleNodePositionIndex;
+
+/**
+ * Checks the answers of {@link ModuleNodePositionIndex} against a linear scan of the positioned nodes of a hand-built module
+ * with nested members, zero-length nodes and a script class whose run method has no source position.
+ */
+public class ModuleNodePositionIndexTests extends TestCase {
+
+    private static final int LENGTH = 270;
+
+    private static final Comparator<ASTNode> BY_POSITION = new Comparator<ASTNode>() {
+        public int compare(ASTNode a, ASTNode b) {
+            if (a.getStart() != b.getStart()) {
+                return a.getStart() < b.getStart() ? -1 : 1;
+            }
+            return a.getEnd() > b.getEnd() ? -1 : (a.getEnd() == b.getEnd() ? 0 : 1);
+        }
+    };
+
+    /** every node of the module that has a source position, which are the ones the index should contain */
+    private List<ASTNode> positioned;
+
+    private ConstantExpression zeroLengthInClosure;
+    private VariableExpression zeroLengthAtMethodEnd;
+    private MethodNode run;
+    private ConstantExpression inScript;
+
+    private ModuleNodePositionIndex index;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        positioned = new ArrayList<ASTNode>();
+        index = ModuleNodePositionIndex.get(createModule());
+    }
+
+    private <T extends ASTNode> T at(T node, int start, int end) {
+        node.setStart(start);
+        node.setEnd(end);
+        positioned.add(node);
+        return node;
+    }
+
+    private ModuleNode createModule() {
+        ModuleNode module = new ModuleNode((SourceUnit) null);
+
+        ClassNode outer = at(new ClassNode("Outer", Opcodes.ACC_PUBLIC, ClassHelper.OBJECT_TYPE), 0, 200);
+        module.addClass(outer);
+
+        FieldNode field = outer.addField("f", Opcodes.ACC_PRIVATE, ClassHelper.OBJECT_TYPE, at(new ConstantExpression("f"), 20, 30));
+        at(field, 10, 31);
+
+        zeroLengthInClosure = at(new ConstantExpression(1), 80, 80);
+        BlockStatement closureCode = at(new BlockStatement(), 75, 98);
+        closureCode.addStatement(at(new ExpressionStatement(zeroLengthInClosure), 79, 81));
+        ClosureExpression closure = at(new ClosureExpression(Parameter.EMPTY_ARRAY, closureCode), 71, 99);
+        ArgumentListExpression arguments = at(new ArgumentListExpression(closure), 70, 100);
+        MethodCallExpression call = at(new MethodCallExpression(at(new VariableExpression("list"), 60, 65),
+                at(new ConstantExpression("each"), 66, 70), arguments), 60, 101);
+        zeroLengthAtMethodEnd = at(new VariableExpression("x"), 148, 148);
+        BlockStatement methodCode = at(new BlockStatement(), 50, 149);
+        methodCode.addStatement(at(new ExpressionStatement(call), 60, 102));
+        methodCode.addStatement(at(new ExpressionStatement(zeroLengthAtMethodEnd), 147, 148));
+        Parameter parameter = at(new Parameter(ClassHelper.OBJECT_TYPE, "x"), 45, 52);
+        at(outer.addMethod("m", Opcodes.ACC_PUBLIC, ClassHelper.OBJECT_TYPE, new Parameter[] {parameter},
+                ClassNode.EMPTY_ARRAY, methodCode), 40, 150);
+
+        InnerClassNode inner = at(new InnerClassNode(outer, "Outer$Inner", Opcodes.ACC_PUBLIC, ClassHelper.OBJECT_TYPE), 160, 195);
+        BlockStatement innerCode = at(new BlockStatement(), 175, 189);
+        at(inner.addMethod("n", Opcodes.ACC_PUBLIC, ClassHelper.OBJECT_TYPE, Parameter.EMPTY_ARRAY, ClassNode.EMPTY_ARRAY,
+                innerCode), 170, 190);
+        module.addClass(inner);
+
+        // like the class that holds the statements of a script, neither the class nor its run method have a position
+        ClassNode script = new ClassNode("Script1", Opcodes.ACC_PUBLIC, ClassHelper.SCRIPT_TYPE);
+        script.setScript(true);
+        inScript = at(new ConstantExpression("script"), 215, 225);
+        BlockStatement runCode = new BlockStatement();
+        runCode.addStatement(at(new ExpressionStatement(inScript), 210, 230));
+        runCode.addStatement(at(new ExpressionStatement(at(new VariableExpression("y"), 245, 246)), 240, 260));
+        run = script.addMethod("run", Opcodes.ACC_PUBLIC, ClassHelper.OBJECT_TYPE, Parameter.EMPTY_ARRAY, ClassNode.EMPTY_ARRAY,
+                runCode);
+        module.addClass(script);
+
+        Collections.sort(positioned, BY_POSITION);
+        return module;
+    }
+
+    private List<ASTNode> scanEnclosing(int start, int end) {
+        List<ASTNode> result = new ArrayList<ASTNode>();
+        for (ASTNode node : positioned) {
+            if (node.getStart() <= start && node.getEnd() >= end) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    private List<ASTNode> scanOverlapping(int start, int end) {
+        List<ASTNode> result = new ArrayList<ASTNode>();
+        for (ASTNode node : positioned) {
+            if (node.getStart() <= end && node.getEnd() >= start) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    private List<ASTNode> scanInRange(int start, int end) {
+        List<ASTNode> result = new ArrayList<ASTNode>();
+        for (ASTNode node : positioned) {
+            if (node.getStart() >= start && node.getEnd() <= end) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    public void testIndexesPositionedNodesOnly() {
+        assertEquals(positioned.size(), index.size());
+        assertEquals(positioned, index.findNodesInRange(0, Integer.MAX_VALUE));
+        assertFalse(index.findNodesInRange(0, Integer.MAX_VALUE).contains(run));
+    }
+
+    public void testEnclosingNodesMatchLinearScan() {
+        for (int start = 0; start <= LENGTH; start += 1) {
+            for (int end = start; end <= LENGTH; end += 1) {
+                assertEquals("enclosing [" + start + ", " + end + "]", scanEnclosing(start, end), index.findEnclosingNodes(start, end));
+            }
+        }
+    }
+
+    public void testOverlappingNodesMatchLinearScan() {
+        for (int start = 0; start <= LENGTH; start += 1) {
+            for (int end = start; end <= LENGTH; end += 1) {
+                assertEquals("overlapping [" + start + ", " + end + "]", scanOverlapping(start, end), index.findOverlappingNodes(start, end));
+            }
+        }
+    }
+
+    public void testNodesInRangeMatchLinearScan() {
+        for (int start = 0; start <= LENGTH; start += 1) {
+            for (int end = start; end <= LENGTH; end += 1) {
+                assertEquals("in range [" + start + ", " + end + "]", scanInRange(start, end), index.findNodesInRange(start, end));
+            }
+        }
+    }
+
+    public void testNodeAtMatchesLinearScan() {
+        for (int offset = 0; offset <= LENGTH; offset += 1) {
+            List<ASTNode> enclosing = scanEnclosing(offset, offset);
+            ASTNode innermost = enclosing.isEmpty() ? null : enclosing.get(enclosing.size() - 1);
+            assertSame("node at " + offset, innermost, index.findNodeAt(offset));
+        }
+    }
+
+    public void testZeroLengthNodes() {
+        assertSame(zeroLengthInClosure, index.findNodeAt(80));
+        assertSame(zeroLengthAtMethodEnd, index.findNodeAt(148));
+        assertTrue(index.findOverlappingNodes(80, 80).contains(zeroLengthInClosure));
+        assertFalse(index.findOverlappingNodes(81, 90).contains(zeroLengthInClosure));
+    }
+
+    public void testNestedMembers() {
+        List<ASTNode> enclosing = index.findEnclosingNodes(180, 181);
+        assertEquals(4, enclosing.size());
+        assertEquals("Outer", ((ClassNode) enclosing.get(0)).getName());
+        assertEquals("Outer$Inner", ((ClassNode) enclosing.get(1)).getName());
+        assertEquals("n", ((MethodNode) enclosing.get(2)).getName());
+        assertTrue(enclosing.get(3) instanceof BlockStatement);
+    }
+
+    public void testUnpositionedScriptRunMethod() {
+        assertSame(inScript, index.findNodeAt(220));
+        List<ASTNode> enclosing = index.findEnclosingNodes(220, 220);
+        assertEquals(2, enclosing.size());
+        assertTrue(enclosing.get(0) instanceof Statement);
+        assertFalse(enclosing.contains(run));
+        assertNull(index.findNodeAt(235));
+    }
+}
@@ -25,6 +25,7 @@ import junit.framework.TestSuite;
 public class AllSearchTests {
     public static Test suite() throws Exception {
         TestSuite suite = new TestSuite(AllSearchTests.class.getName());
+        suite.addTestSuite(BinaryGroovySupplementalIndexerTests.class);
         suite.addTestSuite(BinarySearchTests.class);
         suite.addTestSuite(CategorySearchTests.class);
         suite.addTestSuite(DeclarationInferencingTests.class);
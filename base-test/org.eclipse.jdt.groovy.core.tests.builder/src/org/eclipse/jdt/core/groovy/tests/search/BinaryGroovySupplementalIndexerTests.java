@@ -0,0 +1,140 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import junit.framework.TestCase;
+
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.tools.GroovyClass;
+import org.codehaus.jdt.groovy.integration.internal.BinaryGroovySupplementalIndexer;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+
+/**
+ * Compares the references that {@link BinaryGroovySupplementalIndexer} extracts from a compiled Groovy class with the ones that
+ * were extracted by decoding every string constant of the class file.
+ */
+public class BinaryGroovySupplementalIndexerTests extends TestCase {
+
+    private static final String SOURCE =
+        "class Sample {\n" +
+        "    int I\n" +
+        "    List<String> names\n" +
+        "    boolean flag\n" +
+        "    def Signature() { I + names.size() }\n" +
+        "    def Code(list) { list.collect { it.toUpperCase() } }\n" +
+        "    def other() { println SourceFile }\n" +
+        "}\n";
+
+    private Set<String> before;
+    private Set<String> after;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        CompilationUnit unit = new CompilationUnit();
+        unit.addSource("Sample.groovy", SOURCE);
+        unit.compile(Phases.CLASS_GENERATION);
+
+        before = new TreeSet<String>();
+        after = new TreeSet<String>();
+        for (Object object : unit.getClasses()) {
+            GroovyClass groovyClass = (GroovyClass) object;
+            byte[] bytes = groovyClass.getBytes();
+            ClassFileReader reader = new ClassFileReader(bytes, groovyClass.getName().toCharArray());
+            for (char[] ref : extractAllNames(reader)) {
+                before.add(String.valueOf(ref));
+            }
+            List<char[]> refs = new BinaryGroovySupplementalIndexer().extractNamedReferences(bytes, reader);
+            for (char[] ref : refs) {
+                assertTrue("duplicate reference " + String.valueOf(ref), after.add(String.valueOf(ref)));
+            }
+        }
+    }
+
+    /**
+     * The extraction before the constant pool was scanned in place: every string constant that is a valid id, split on '.'.
+     */
+    private static List<char[]> extractAllNames(ClassFileReader reader) {
+        int[] constantPoolOffsets = reader.getConstantPoolOffsets();
+        List<char[]> refs = new ArrayList<char[]>();
+        for (int i = 1; i < constantPoolOffsets.length; i++) {
+            int offset = constantPoolOffsets[i];
+            if (offset != 0 && reader.u1At(offset) == ClassFileConstants.Utf8Tag) {
+                char[] strConst = reader.utf8At(offset + 3, reader.u2At(offset + 1));
+                if (isValidId(strConst)) {
+                    for (char[] split : CharOperation.splitOn('.', strConst)) {
+                        if (split.length > 0) {
+                            refs.add(split);
+                        }
+                    }
+                }
+            }
+        }
+        return refs;
+    }
+
+    private static boolean isValidId(char[] strConst) {
+        if (strConst.length == 0 || !(Character.isJavaIdentifierStart(strConst[0]) || strConst[0] == '.') || strConst[0] == '$') {
+            return false;
+        }
+        for (int i = 1; i < strConst.length; i++) {
+            if (!(Character.isJavaIdentifierPart(strConst[i]) || strConst[i] == '.') || strConst[i] == '$') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void testNoNewReferences() {
+        Set<String> added = new TreeSet<String>(after);
+        added.removeAll(before);
+        assertTrue("references that were not extracted before: " + added, added.isEmpty());
+    }
+
+    public void testMemberNamesKept() {
+        for (String name : new String[] {"Sample", "I", "names", "Signature", "Code", "other", "getI", "setNames"}) {
+            assertTrue("missing member name " + name, after.contains(name));
+        }
+    }
+
+    public void testReferencedNamesKept() {
+        for (String name : new String[] {"size", "collect", "toUpperCase", "println", "SourceFile"}) {
+            assertTrue("missing referenced name " + name, after.contains(name));
+        }
+    }
+
+    public void testAttributeNamesDropped() {
+        for (String name : new String[] {"LineNumberTable", "LocalVariableTable", "StackMapTable", "InnerClasses"}) {
+            if (before.contains(name)) {
+                assertFalse("attribute name " + name + " should not be a reference", after.contains(name));
+            }
+        }
+        assertTrue(before.contains("LineNumberTable"));
+    }
+
+    public void testDescriptorsDropped() {
+        assertTrue(before.contains("Z"));
+        assertFalse("descriptor Z should not be a reference", after.contains("Z"));
+    }
+}
@@ -202,6 +202,68 @@ public class GenericInferencingTests extends AbstractInferencingTest {
         assertType(contents, start, end, "java.util.Set<java.util.Map$Entry<java.lang.Integer,java.lang.Integer>>");
     }
 
+    // parameterized types converted from JDT bindings are shared by every reference to the binding, so resolving one use must not
+    // change what another use of the same binding resolves to
+    public void testSharedParameterizedBinding1() throws Exception {
+        String contents =
+                "new HashMap<String,Integer>().entrySet()\n" +
+                "new HashMap<Long,Date>().entrySet()\n" +
+                "new HashMap<String,Integer>().entrySet()";
+        String toFind = "entrySet";
+        int start = contents.indexOf(toFind);
+        assertType(contents, start, start + toFind.length(), "java.util.Set<java.util.Map$Entry<java.lang.String,java.lang.Integer>>");
+        start = contents.indexOf(toFind, start + 1);
+        assertType(contents, start, start + toFind.length(), "java.util.Set<java.util.Map$Entry<java.lang.Long,java.util.Date>>");
+        start = contents.lastIndexOf(toFind);
+        assertType(contents, start, start + toFind.length(), "java.util.Set<java.util.Map$Entry<java.lang.String,java.lang.Integer>>");
+    }
+
+    public void testSharedParameterizedBinding2() throws Exception {
+        createHolder();
+        String contents =
+                "new Holder<Integer>().one()\n" +
+                "new Holder<Date>().two()\n" +
+                "new Holder<Integer>().two()";
+        int start = contents.indexOf("one");
+        assertType(contents, start, start + "one".length(), "java.util.Map<java.lang.String,java.util.List<java.lang.Integer>>");
+        start = contents.indexOf("two");
+        assertType(contents, start, start + "two".length(), "java.util.Map<java.lang.String,java.util.List<java.util.Date>>");
+        start = contents.lastIndexOf("two");
+        assertType(contents, start, start + "two".length(), "java.util.Map<java.lang.String,java.util.List<java.lang.Integer>>");
+    }
+
+    // member types resolved for a receiver parameterization are reused within an inferencing pass, so the types handed out must
+    // not be changed by the inferencing of what follows them
+    public void testSharedParameterizedBinding3() throws Exception {
+        createHolder();
+        String contents =
+                "def a = new Holder<Integer>()\n" +
+                "def b = new Holder<Integer>()\n" +
+                "def c = new Holder<String>()\n" +
+                "a.one().get('k').get(0)\n" +
+                "b.one()\n" +
+                "c.one().get('k')\n" +
+                "b.one().get('k').get(0)";
+        int start = contents.indexOf("a.one().get('k').get");
+        start = contents.indexOf("get(0)", start);
+        assertType(contents, start, start + "get".length(), "java.lang.Integer");
+        start = contents.indexOf("b.one()") + 2;
+        assertType(contents, start, start + "one".length(), "java.util.Map<java.lang.String,java.util.List<java.lang.Integer>>");
+        start = contents.indexOf("c.one().get") + "c.one().".length();
+        assertType(contents, start, start + "get".length(), "java.util.List<java.lang.String>");
+        start = contents.lastIndexOf("get(0)");
+        assertType(contents, start, start + "get".length(), "java.lang.Integer");
+    }
+
+    private void createHolder() {
+        createJavaUnit("Holder",
+                "import java.util.*;\n" +
+                "public class Holder<T> {\n" +
+                "  public Map<String, List<T>> one() { return null; }\n" +
+                "  public Map<String, List<T>> two() { return null; }\n" +
+                "}");
+    }
+
 
     public void testMap9() throws Exception {
         String contents = "Map<Integer, Integer> x() { }\ndef f = x()\nf";
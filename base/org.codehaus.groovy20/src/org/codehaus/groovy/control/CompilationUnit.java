@@ -30,11 +30,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.codehaus.groovy.GroovyBugError;
 import org.codehaus.groovy.ast.ASTNode;
@@ -835,8 +841,19 @@ public class CompilationUnit extends ProcessingUnit {
         }
 
         public void call(SourceUnit source, GeneratorContext context, ClassNode classNode) throws CompilationFailedException {
+            // GRECLIPSE edit - split in two so that classes can be generated in parallel; see generateInParallel()
+            verifyClass(source, classNode);
+            generateClass(source, context, classNode);
+        }
+    };
 
-            optimizer.visitClass(classNode, source); // GROOVY-4272: repositioned it here from staticImport
+    private void verifyClass(SourceUnit source, ClassNode classNode) throws CompilationFailedException {
+            // GRECLIPSE end
+
+            // GRECLIPSE edit
+            //optimizer.visitClass(classNode, source); // GROOVY-4272: repositioned it here from staticImport
+            getClassgenOptimizer().visitClass(classNode, source);
+            // GRECLIPSE end
 
             if(!classNode.isSynthetic()) {
                 GenericsVisitor genericsVisitor = new GenericsVisitor(source);
@@ -846,7 +863,10 @@ public class CompilationUnit extends ProcessingUnit {
             // Run the Verifier on the outer class
             //
             try {
-                verifier.visitClass(classNode);
+                // GRECLIPSE edit
+                //verifier.visitClass(classNode);
+                getClassgenVerifier().visitClass(classNode);
+                // GRECLIPSE end
             } catch (GroovyRuntimeException rpe) {
                 ASTNode node = rpe.getNode();
                 getErrorCollector().addError(
@@ -868,6 +888,11 @@ public class CompilationUnit extends ProcessingUnit {
             // and that class may have an invalid format we fail here if needed
             getErrorCollector().failIfErrors();
 
+            // GRECLIPSE add
+    }
+
+    private void generateClass(SourceUnit source, GeneratorContext context, ClassNode classNode) throws CompilationFailedException {
+            // GRECLIPSE end
             //
             // Prep the generator machinery
             //
@@ -895,7 +920,10 @@ public class CompilationUnit extends ProcessingUnit {
 	            generatedClasses.add(new GroovyClass(classNode.getName(), bytes));
 	            }*/
 	            // newcode
-	            generatedClasses.add(new GroovyClass(classNode.getName(), bytes, classNode, source));
+	            // GRECLIPSE edit
+	            //generatedClasses.add(new GroovyClass(classNode.getName(), bytes, classNode, source));
+	            getClassgenOutput().add(new GroovyClass(classNode.getName(), bytes, classNode, source));
+	            // GRECLIPSE end
 			// end
 
 	            //
@@ -915,8 +943,179 @@ public class CompilationUnit extends ProcessingUnit {
 	        // GRECLIPSE: if there are errors, don't generate code
             }
             // end
+    }
+
+    // GRECLIPSE add
+    /**
+     * Number of threads that generate the bytecode of the primary classes. With less than 2, the default, classes are
+     * generated one at a time on the compiling thread.
+     */
+    private int classgenThreads;
+
+    /** The classgen state of the current thread, when generating classes in parallel */
+    private final ThreadLocal<ClassgenTask> classgenTask = new ThreadLocal<ClassgenTask>();
+
+    public void setClassgenThreads(int classgenThreads) {
+        this.classgenThreads = classgenThreads;
+    }
+
+    public int getClassgenThreads() {
+        return classgenThreads;
+    }
+
+    /**
+     * Generates one primary class, with its inner classes, on a classgen thread. The verifier and optimizer keep state
+     * about the class being visited, so each task has its own. The classes and the errors and warnings are kept by the task
+     * until they can be added in class order.
+     */
+    private class ClassgenTask implements Runnable {
+        final SourceUnit source;
+        final ClassNode classNode;
+        final int offset;
+        final Verifier verifier = new Verifier();
+        final OptimizerVisitor optimizer = new OptimizerVisitor(CompilationUnit.this);
+        final List<GroovyClass> generated = new ArrayList<GroovyClass>();
+        final ErrorCollector errors = new ErrorCollector(getConfiguration());
+        boolean verified;
+        Throwable failure;
+
+        ClassgenTask(SourceUnit source, ClassNode classNode) {
+            this.source = source;
+            this.classNode = classNode;
+            int offset = 1;
+            Iterator<InnerClassNode> iterator = classNode.getInnerClasses();
+            while (iterator.hasNext()) {
+                iterator.next();
+                offset++;
+            }
+            this.offset = offset;
+            this.verifier.inlineStaticFieldInitializersIntoClinit = CompilationUnit.this.verifier.inlineStaticFieldInitializersIntoClinit;
         }
-    };
+
+        public void run() {
+            classgenTask.set(this);
+            classgenErrorCollector.set(errors);
+            try {
+                generateClass(source, new GeneratorContext(ast, offset), classNode);
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                classgenErrorCollector.remove();
+                classgenTask.remove();
+            }
+        }
+    }
+
+    private Verifier getClassgenVerifier() {
+        ClassgenTask task = classgenTask.get();
+        return task != null ? task.verifier : verifier;
+    }
+
+    private OptimizerVisitor getClassgenOptimizer() {
+        ClassgenTask task = classgenTask.get();
+        return task != null ? task.optimizer : optimizer;
+    }
+
+    private List<GroovyClass> getClassgenOutput() {
+        ClassgenTask task = classgenTask.get();
+        return task != null ? task.generated : generatedClasses;
+    }
+
+    /**
+     * Generates the bytecode of the primary classes on a pool of threads. Verification changes the classes and looks at their
+     * super types, so the classes are verified one at a time and in order on this thread first. Generating the bytecode of a
+     * class only changes that class and the closure classes it creates, which are generated on the same thread.
+     *
+     * @return an operation that adds the classes, errors and warnings generated for each primary class, or rethrows what went
+     *         wrong, so that the generated classes and the problems end up in the same order as when classes are generated one
+     *         at a time
+     */
+    private PrimaryClassNodeOperation generateInParallel() {
+        final Map<ClassNode, ClassgenTask> tasks = new LinkedHashMap<ClassNode, ClassgenTask>();
+        for (Object next : getPrimaryClassNodes(true)) {
+            ClassNode classNode = (ClassNode) next;
+            SourceUnit context = classNode.getModule().getContext();
+            if (context == null || context.phase < phase || (context.phase == phase && !context.phaseComplete)) {
+                ClassgenTask task = new ClassgenTask(context, classNode);
+                tasks.put(classNode, task);
+                try {
+                    verifyClass(context, classNode);
+                    task.verified = true;
+                } catch (Throwable t) {
+                    task.failure = t;
+                    break; // the remaining classes are verified and generated as usual
+                }
+            }
+        }
+        if (tasks.isEmpty()) {
+            return classgen;
+        }
+
+        final ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(classgenThreads, tasks.size()), new ThreadFactory() {
+            private int count;
+
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Groovy classgen " + (++count));
+                thread.setContextClassLoader(contextLoader);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>(tasks.size());
+            for (ClassgenTask task : tasks.values()) {
+                if (task.failure == null) {
+                    futures.add(executor.submit(task));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GroovyBugError("Interrupted while generating classes", e);
+        } catch (ExecutionException e) {
+            throw new GroovyBugError("Unexpected failure while generating classes", e); // tasks catch everything
+        } finally {
+            executor.shutdown();
+        }
+
+        return new PrimaryClassNodeOperation() {
+            public boolean needSortedInput() {
+                return true;
+            }
+
+            public void call(SourceUnit source, GeneratorContext context, ClassNode classNode) throws CompilationFailedException {
+                ClassgenTask task = tasks.get(classNode);
+                if (task == null) {
+                    classgen.call(source, context, classNode);
+                    return;
+                }
+                if (task.verified) {
+                    ErrorCollector collector = (source != null ? source.getErrorCollector() : getErrorCollector());
+                    if (source != null && collector.hasErrors()) {
+                        return; // an earlier class had errors, so this one would not have been generated
+                    }
+                    collector.addCollectorContents(task.errors);
+                    if (task.failure instanceof MultipleCompilationErrorsException &&
+                            ((MultipleCompilationErrorsException) task.failure).getErrorCollector() == task.errors) {
+                        collector.failIfErrors(); // report all of the errors, not only the ones of this class
+                    }
+                }
+                if (task.failure instanceof RuntimeException) {
+                    throw (RuntimeException) task.failure;
+                } else if (task.failure instanceof Error) {
+                    throw (Error) task.failure;
+                } else if (task.failure != null) {
+                    throw new GroovyRuntimeException(task.failure.getMessage(), task.failure);
+                } else {
+                    generatedClasses.addAll(task.generated);
+                }
+            }
+        };
+    }
+    // GRECLIPSE end
 
 
     protected ClassVisitor createClassVisitor() {
@@ -1200,6 +1399,11 @@ public class CompilationUnit extends ProcessingUnit {
      * through the current phase.
      */
     public void applyToPrimaryClassNodes(PrimaryClassNodeOperation body) throws CompilationFailedException {
+        // GRECLIPSE add
+        if (body == classgen && classgenThreads > 1 && classgenCallback == null) {
+            body = generateInParallel();
+        }
+        // GRECLIPSE end
         // GRECLIPSE: start
         /*old{
         Iterator classNodes = getPrimaryClassNodes(body.needSortedInput()).iterator();
@@ -20,10 +20,12 @@ import groovy.lang.GroovyClassLoader;
 import groovy.transform.CompilationUnitAware;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -156,6 +158,11 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
             // second pass, call visit on all of the collected nodes
             for (ASTNode[] node : targetNodes) {
                 for (ASTTransformation snt : transforms.get(node[0])) {
+                    // GRECLIPSE add
+                    if (skipOnReconcile(context.getCompilationUnit(), snt.getClass().getName(), source, classNode.getName())) {
+                        continue;
+                    }
+                    // GRECLIPSE end
                 	try {
                 		long stime = System.nanoTime();
                 		boolean okToSet = source!=null && source.getErrorCollector()!=null;
@@ -173,6 +180,7 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
                 			}
                 		}
                 		long etime = System.nanoTime();
+                		recordTransformTime(context.getCompilationUnit(), snt.getClass().getName(), source, etime - stime);
                 		if (GroovyLogManager.manager.hasLoggers()) {
                 			try {
 	                			GroovyLogManager.manager.log(TraceCategory.AST_TRANSFORM,"Local transform "+snt.getClass().getName()+" on "+classNode.getName()+":"+node[1]+" = "+((etime-stime)/1000000)+"ms");
@@ -263,7 +271,7 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
         GroovyClassLoader transformLoader = compilationUnit.getTransformLoader();
         Map<String, URL> transformNames = new LinkedHashMap<String, URL>();
         try {
-            Enumeration<URL> globalServices = transformLoader.getResources("META-INF/services/org.codehaus.groovy.transform.ASTTransformation");
+            Enumeration<URL> globalServices = getGlobalServices(transformLoader);
             while (globalServices.hasMoreElements()) {
                 URL service = globalServices.nextElement();
                 String className;
@@ -416,7 +424,166 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
     }
     // GRECLIPSE: end
 
-    private static void addPhaseOperationsForGlobalTransforms(CompilationUnit compilationUnit,
+    // GRECLIPSE add
+    private static final String GLOBAL_SERVICES = "META-INF/services/org.codehaus.groovy.transform.ASTTransformation";
+
+    // service manifests found on recently used transform classpaths, keyed by classpath fingerprint
+    @SuppressWarnings("serial")
+    private static final Map<String, List<URL>> globalServicesCache = new LinkedHashMap<String, List<URL>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<URL>> eldest) {
+            return size() > 16;
+        }
+    };
+
+    /**
+     * Finds the global transform service manifests visible to the transform loader. Scanning the whole classpath is expensive
+     * and reconciling does it for every compilation unit, so the result is remembered for as long as the fingerprint of the
+     * loader's classpath stays the same.
+     */
+    private static Enumeration<URL> getGlobalServices(GroovyClassLoader transformLoader) throws IOException {
+        String fingerprint = getClasspathFingerprint(transformLoader);
+        if (fingerprint == null) {
+            return transformLoader.getResources(GLOBAL_SERVICES);
+        }
+        List<URL> services;
+        synchronized (globalServicesCache) {
+            services = globalServicesCache.get(fingerprint);
+        }
+        if (services == null) {
+            services = Collections.list(transformLoader.getResources(GLOBAL_SERVICES));
+            synchronized (globalServicesCache) {
+                globalServicesCache.put(fingerprint, services);
+            }
+        }
+        return Collections.enumeration(services);
+    }
+
+    /**
+     * Describes the classpath of a loader and its parents: the URLs of each entry, plus the time stamp of each local jar or of
+     * the service manifest in each local folder, so that a manifest added to an output folder changes the fingerprint. Returns
+     * null if the classpath cannot be described.
+     */
+    private static String getClasspathFingerprint(ClassLoader loader) {
+        StringBuilder sb = new StringBuilder();
+        for (ClassLoader cl = loader; cl != null; cl = cl.getParent()) {
+            if (!(cl instanceof URLClassLoader)) {
+                sb.append(cl.getClass().getName()).append('@').append(System.identityHashCode(cl)).append(';');
+                continue;
+            }
+            for (URL url : ((URLClassLoader) cl).getURLs()) {
+                sb.append(url.toExternalForm());
+                if ("file".equals(url.getProtocol())) {
+                    File file;
+                    try {
+                        file = new File(url.toURI());
+                    } catch (Exception e) {
+                        return null;
+                    }
+                    if (file.isDirectory()) {
+                        file = new File(file, GLOBAL_SERVICES);
+                    }
+                    sb.append('#').append(file.lastModified());
+                }
+                sb.append(';');
+            }
+        }
+        return sb.toString();
+    }
+
+    // transforms that have taken longer than this many milliseconds are not run when reconciling; zero means no limit
+    private static volatile long reconcileTransformThreshold = -1;
+
+    // a skipped transform is run and timed again after this many skips, in case its slow run was a one-off
+    private static final int RETIME_AFTER_SKIPS = 10;
+
+    private static class TransformTime {
+        final long millis;
+        int skips;
+
+        TransformTime(long millis) {
+            this.millis = millis;
+        }
+    }
+
+    // most recent reconcile running time of each transform on recently reconciled source units
+    @SuppressWarnings("serial")
+    private static final Map<String, TransformTime> transformTimes = new LinkedHashMap<String, TransformTime>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TransformTime> eldest) {
+            return size() > 256;
+        }
+    };
+
+    private static long getReconcileTransformThreshold() {
+        long threshold = reconcileTransformThreshold;
+        if (threshold < 0) {
+            threshold = 0;
+            try {
+                threshold = Math.max(Long.parseLong(System.getProperty("greclipse.reconcileTransformThreshold", "0")), 0);
+            } catch (Exception e) {
+                // presumed security exception or malformed value
+            }
+            reconcileTransformThreshold = threshold;
+        }
+        return threshold;
+    }
+
+    private static String getTransformKey(String transformName, SourceUnit source) {
+        return transformName + '@' + (source != null ? source.getName() : "");
+    }
+
+    /**
+     * Determines whether a transform should be skipped because this is a reconcile and the last time the transform ran on the
+     * same source unit during a reconcile it took longer than the threshold set by the
+     * <code>greclipse.reconcileTransformThreshold</code> system property. After {@link #RETIME_AFTER_SKIPS} skips the
+     * transform is run anyway so that it is timed again. Skipped transforms are reported to the
+     * {@link TraceCategory#AST_TRANSFORM} trace.
+     */
+    private static boolean skipOnReconcile(CompilationUnit compilationUnit, String transformName, SourceUnit source, String target) {
+        if (compilationUnit == null || !compilationUnit.isReconcile) {
+            return false;
+        }
+        long threshold = getReconcileTransformThreshold();
+        if (threshold == 0) {
+            return false;
+        }
+        TransformTime lastTime;
+        synchronized (transformTimes) {
+            lastTime = transformTimes.get(getTransformKey(transformName, source));
+        }
+        if (lastTime == null || lastTime.millis <= threshold) {
+            return false;
+        }
+        synchronized (lastTime) {
+            if (++lastTime.skips > RETIME_AFTER_SKIPS) {
+                return false;
+            }
+        }
+        if (GroovyLogManager.manager.hasLoggers()) {
+            try {
+                GroovyLogManager.manager.log(TraceCategory.AST_TRANSFORM, "Skipped transform " + transformName + " on " + target + " during reconcile: last run took " + lastTime.millis + "ms, threshold is " + threshold + "ms");
+            } catch (Throwable t) {
+                t.printStackTrace();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records how long a transform took on a source unit. Only reconciles are timed, since those are the only runs that can
+     * skip a transform.
+     */
+    private static void recordTransformTime(CompilationUnit compilationUnit, String transformName, SourceUnit source, long nanos) {
+        if (compilationUnit != null && compilationUnit.isReconcile) {
+            synchronized (transformTimes) {
+                transformTimes.put(getTransformKey(transformName, source), new TransformTime(nanos / 1000000));
+            }
+        }
+    }
+    // GRECLIPSE end
+
+    private static void addPhaseOperationsForGlobalTransforms(final CompilationUnit compilationUnit,
             Map<String, URL> transformNames, boolean isFirstScan) {
         GroovyClassLoader transformLoader = compilationUnit.getTransformLoader();
         for (Map.Entry<String, URL> entry : transformNames.entrySet()) {
@@ -447,6 +614,7 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
                         public void call(SourceUnit source) throws CompilationFailedException {
                     		// // GRECLIPSE: start
                         	if (isBuggered) return;
+                        	if (skipOnReconcile(compilationUnit, instance.getClass().getName(), source, source.getName())) return;
                         	try {
                               // end
                             long stime = System.nanoTime();
@@ -463,6 +631,7 @@ public final class ASTTransformationVisitor extends ClassCodeVisitorSupport {
                     			}
                     		}
                             long etime = System.nanoTime();
+                            recordTransformTime(compilationUnit, instance.getClass().getName(), source, etime - stime);
                     		if (GroovyLogManager.manager.hasLoggers()) {
                     			long timetaken = (etime-stime)/1000000;
                     			if (timetaken>0) {
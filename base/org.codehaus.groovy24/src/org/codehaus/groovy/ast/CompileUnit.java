@@ -56,7 +56,10 @@ public class CompileUnit {
     private CodeSource codeSource;
     private Map<String, ClassNode> classesToCompile = new HashMap<String, ClassNode>();
     private Map<String, SourceUnit> classNameToSource = new HashMap<String, SourceUnit>();
-    private Map<String, InnerClassNode> generatedInnerClasses = new HashMap();
+    // GRECLIPSE edit - classes may be generated in parallel
+    //private Map<String, InnerClassNode> generatedInnerClasses = new HashMap();
+    private Map<String, InnerClassNode> generatedInnerClasses = Collections.synchronizedMap(new HashMap<String, InnerClassNode>());
+    // GRECLIPSE end
 
     public CompileUnit(GroovyClassLoader classLoader, CompilerConfiguration config) {
         this(classLoader, null, config);
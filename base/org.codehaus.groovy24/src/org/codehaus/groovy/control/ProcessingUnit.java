@@ -132,8 +132,22 @@ public abstract class ProcessingUnit {
      *      the ErrorCollector for this ProcessingUnit
      */
     public ErrorCollector getErrorCollector() {
+        // GRECLIPSE add
+        ErrorCollector threadErrorCollector = classgenErrorCollector.get();
+        if (threadErrorCollector != null) {
+            return threadErrorCollector;
+        }
+        // GRECLIPSE end
         return errorCollector;
     }
+
+    // GRECLIPSE add
+    /**
+     * Collects the errors and warnings reported on a thread that generates classes in parallel, so that they can be added to
+     * the error collector in class order; see {@link CompilationUnit#setClassgenThreads(int)}.
+     */
+    static final ThreadLocal<ErrorCollector> classgenErrorCollector = new ThreadLocal<ErrorCollector>();
+    // GRECLIPSE end
     
     //---------------------------------------------------------------------------
     // PROCESSING
@@ -22,34 +22,240 @@ import org.codehaus.jdt.groovy.integration.ISupplementalIndexer;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.util.SimpleSetOfCharArray;
 
 /**
+ * Since groovy method calls and property accesses are dynamically dispatched, the names they refer to only show up as string
+ * constants in the class file. This indexer returns every name-like string in the constant pool, split on '.', so that they can
+ * be indexed as references.
+ * <p>
+ * The constant pool is scanned directly over the class file bytes. Strings that are only used as descriptors or attribute
+ * names and repeated or empty name segments are not returned, since they only bloat the index. A string that is also used as
+ * a name, like a method called <code>Signature</code> or a field called <code>I</code>, is returned.
+ *
  * @author Andrew Eisenberg
  * @created 2013-04-30
  */
 public class BinaryGroovySupplementalIndexer implements ISupplementalIndexer {
 
+    /** not defined in {@link ClassFileConstants} for all supported versions of JDT */
+    private static final int METHOD_HANDLE_TAG = 15;
+    private static final int METHOD_TYPE_TAG = 16;
+    private static final int INVOKE_DYNAMIC_TAG = 18;
+
+    private static final byte USED_AS_NAME = 1;
+    private static final byte USED_AS_DESCRIPTOR = 2;
+    private static final byte USED_AS_ATTRIBUTE_NAME = 4;
+
+    private static final char[] CODE_ATTRIBUTE = "Code".toCharArray();
+
     public List<char[]> extractNamedReferences(byte[] contents, ClassFileReader reader) {
         int[] constantPoolOffsets = reader.getConstantPoolOffsets();
         int constantPoolCount = constantPoolOffsets.length;
+
+        // first pass: find out how each string is used
+        byte[] usage = new byte[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int offset = constantPoolOffsets[i];
+            if (offset == 0) {
+                continue; // second slot of a long or double
+            }
+            switch (reader.u1At(offset)) {
+                case ClassFileConstants.ClassTag:
+                case ClassFileConstants.StringTag:
+                    markUsage(usage, reader.u2At(offset + 1), USED_AS_NAME);
+                    break;
+                case ClassFileConstants.NameAndTypeTag:
+                    markUsage(usage, reader.u2At(offset + 1), USED_AS_NAME);
+                    markUsage(usage, reader.u2At(offset + 3), USED_AS_DESCRIPTOR);
+                    break;
+                case METHOD_TYPE_TAG:
+                    markUsage(usage, reader.u2At(offset + 1), USED_AS_DESCRIPTOR);
+                    break;
+            }
+        }
+
+        markMemberUsage(reader, usage, getConstantPoolEnd(reader, constantPoolOffsets));
+
+        // second pass: extract the names
         List<char[]> refs = new ArrayList<char[]>();
+        SimpleSetOfCharArray seen = new SimpleSetOfCharArray();
         for (int i = 1; i < constantPoolCount; i++) {
-            int tag = reader.u1At(constantPoolOffsets[i]);
-            switch (tag) {
-                case ClassFileConstants.Utf8Tag:
-                    char[] strConst = extractStringConstant(constantPoolOffsets, reader, i);
+            int offset = constantPoolOffsets[i];
+            if (offset == 0 || reader.u1At(offset) != ClassFileConstants.Utf8Tag || (usage[i] != 0 && (usage[i] & USED_AS_NAME) == 0)) {
+                continue;
+            }
+            int strlen = reader.u2At(offset + 1); // +1 for the tag type
+            int strstart = offset + 3; // +1 for the tag type and +2 for the strlen
+            switch (checkAsciiId(reader, strstart, strlen)) {
+                case 1:
+                    addAsciiSegments(reader, strstart, strlen, refs, seen);
+                    break;
+                case -1:
+                    // multi-byte characters; decode and check the slow way
+                    char[] strConst = reader.utf8At(strstart, strlen);
                     if (isValidId(strConst)) {
-                        char[][] splits = CharOperation.splitOn('.', strConst);
-                        for (char[] split : splits) {
-                            refs.add(split);
+                        for (char[] split : CharOperation.splitOn('.', strConst)) {
+                            addSegment(split, refs, seen);
                         }
                     }
+                    break;
             }
         }
         return refs;
     }
 
-    private boolean isValidId(char[] strConst) {
+    private static void markUsage(byte[] usage, int index, byte use) {
+        if (index > 0 && index < usage.length) {
+            usage[index] |= use;
+        }
+    }
+
+    /**
+     * Finds the offset of the first byte after the constant pool, which is where the access flags of the class are.
+     */
+    private static int getConstantPoolEnd(ClassFileReader reader, int[] constantPoolOffsets) {
+        for (int i = constantPoolOffsets.length - 1; i > 0; i--) {
+            int offset = constantPoolOffsets[i];
+            if (offset == 0) {
+                continue; // second slot of a long or double
+            }
+            switch (reader.u1At(offset)) {
+                case ClassFileConstants.Utf8Tag:
+                    return offset + 3 + reader.u2At(offset + 1);
+                case ClassFileConstants.IntegerTag:
+                case ClassFileConstants.FloatTag:
+                case ClassFileConstants.FieldRefTag:
+                case ClassFileConstants.MethodRefTag:
+                case ClassFileConstants.InterfaceMethodRefTag:
+                case ClassFileConstants.NameAndTypeTag:
+                case INVOKE_DYNAMIC_TAG:
+                    return offset + 5;
+                case ClassFileConstants.LongTag:
+                case ClassFileConstants.DoubleTag:
+                    return offset + 9;
+                case METHOD_HANDLE_TAG:
+                    return offset + 4;
+                default:
+                    return offset + 3;
+            }
+        }
+        return 10; // empty constant pool
+    }
+
+    /**
+     * Records the names and descriptors of the fields and methods and the names of all attributes, including the ones nested in
+     * <code>Code</code> attributes, so that strings only used as descriptors or attribute names can be told apart from strings
+     * that are also used as names.
+     */
+    private static void markMemberUsage(ClassFileReader reader, byte[] usage, int offset) {
+        offset += 6; // access flags, this class and super class
+        offset += 2 + 2 * reader.u2At(offset); // interfaces
+        for (int kind = 0; kind < 2; kind++) { // fields, then methods
+            int memberCount = reader.u2At(offset);
+            offset += 2;
+            for (int i = 0; i < memberCount; i++) {
+                markUsage(usage, reader.u2At(offset + 2), USED_AS_NAME);
+                markUsage(usage, reader.u2At(offset + 4), USED_AS_DESCRIPTOR);
+                offset = markAttributeUsage(reader, usage, offset + 6);
+            }
+        }
+        markAttributeUsage(reader, usage, offset);
+    }
+
+    /**
+     * Records the names of the attributes in the table at the given offset.
+     *
+     * @return the offset of the first byte after the attribute table
+     */
+    private static int markAttributeUsage(ClassFileReader reader, byte[] usage, int offset) {
+        int attributeCount = reader.u2At(offset);
+        offset += 2;
+        for (int i = 0; i < attributeCount; i++) {
+            int nameIndex = reader.u2At(offset);
+            int length = (int) reader.u4At(offset + 2);
+            markUsage(usage, nameIndex, USED_AS_ATTRIBUTE_NAME);
+            if (isUtf8(reader, nameIndex, CODE_ATTRIBUTE)) {
+                int codeOffset = offset + 10; // name, length, max stack and max locals
+                codeOffset += 4 + (int) reader.u4At(codeOffset); // code
+                codeOffset += 2 + 8 * reader.u2At(codeOffset); // exception table
+                markAttributeUsage(reader, usage, codeOffset);
+            }
+            offset += 6 + length;
+        }
+        return offset;
+    }
+
+    private static boolean isUtf8(ClassFileReader reader, int index, char[] value) {
+        int[] constantPoolOffsets = reader.getConstantPoolOffsets();
+        if (index <= 0 || index >= constantPoolOffsets.length) {
+            return false;
+        }
+        int offset = constantPoolOffsets[index];
+        if (offset == 0 || reader.u1At(offset) != ClassFileConstants.Utf8Tag || reader.u2At(offset + 1) != value.length) {
+            return false;
+        }
+        for (int i = 0; i < value.length; i++) {
+            if (reader.u1At(offset + 3 + i) != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Performs the same check as {@link #isValidId(char[])} over the encoded bytes of a string constant.
+     *
+     * @return 1 if the string is a valid id, 0 if it is not, or -1 if it contains non-ASCII characters and must be decoded
+     */
+    private static int checkAsciiId(ClassFileReader reader, int start, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        for (int i = 0; i < length; i++) {
+            int b = reader.u1At(start + i);
+            if ((b & 0x80) != 0) {
+                return -1;
+            }
+        }
+        char first = (char) reader.u1At(start);
+        if (!(Character.isJavaIdentifierStart(first) || first == '.') || first == '$') {
+            return 0;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = (char) reader.u1At(start + i);
+            if (!(Character.isJavaIdentifierPart(c) || c == '.') || c == '$') {
+                return 0;
+            }
+        }
+        return 1;
+    }
+
+    private static void addAsciiSegments(ClassFileReader reader, int start, int length, List<char[]> refs, SimpleSetOfCharArray seen) {
+        int end = start + length;
+        int segmentStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || reader.u1At(i) == '.') {
+                if (i > segmentStart) {
+                    char[] segment = new char[i - segmentStart];
+                    for (int j = 0; j < segment.length; j++) {
+                        segment[j] = (char) reader.u1At(segmentStart + j);
+                    }
+                    addSegment(segment, refs, seen);
+                }
+                segmentStart = i + 1;
+            }
+        }
+    }
+
+    private static void addSegment(char[] segment, List<char[]> refs, SimpleSetOfCharArray seen) {
+        if (segment.length > 0 && !seen.includes(segment)) {
+            seen.add(segment);
+            refs.add(segment);
+        }
+    }
+
+    private static boolean isValidId(char[] strConst) {
         if (strConst == null || strConst.length == 0) {
             return false;
         }
@@ -63,10 +269,4 @@ public class BinaryGroovySupplementalIndexer implements ISupplementalIndexer {
         }
         return true;
     }
-
-    private char[] extractStringConstant(int[] constantPoolOffsets, ClassFileReader reader, int index) {
-        int strlen = reader.u2At(constantPoolOffsets[index] + 1); // / +1 for the tag type
-        int strstart = constantPoolOffsets[index] + 3; // +1 for the tag type and +2 for the strlen
-        return reader.utf8At(strstart, strlen);
-    }
 }
@@ -17,6 +17,7 @@ package org.codehaus.jdt.groovy.integration.internal;
 
 import org.codehaus.jdt.groovy.integration.EventHandler;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
+import org.eclipse.jdt.core.util.CompilerUtils;
 import org.eclipse.jdt.internal.core.JavaProject;
 
 public class GroovyEventHandler implements EventHandler {
@@ -30,6 +31,7 @@ public class GroovyEventHandler implements EventHandler {
         if (event.equals("cleanOutputFolders")) {
             if (javaProject != null) {
                 GroovyParser.tidyCache(javaProject.getProject().getName());
+                CompilerUtils.clearClasspathCache(javaProject.getProject().getName());
             }
         } else if (event.equals("close")) {
             if (javaProject != null) {
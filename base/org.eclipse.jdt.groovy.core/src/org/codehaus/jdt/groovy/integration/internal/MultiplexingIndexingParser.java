@@ -16,13 +16,31 @@
 package org.codehaus.jdt.groovy.integration.internal;
 
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyCompilationUnitDeclaration;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.groovy.core.util.ContentTypeUtils;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
 import org.eclipse.jdt.internal.compiler.IProblemFactory;
 import org.eclipse.jdt.internal.compiler.ISourceElementRequestor;
 import org.eclipse.jdt.internal.compiler.SourceElementNotifier;
@@ -33,8 +51,12 @@ import org.eclipse.jdt.internal.compiler.ast.FieldDeclaration;
 import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObjectToInt;
+import org.eclipse.jdt.internal.core.BasicCompilationUnit;
 import org.eclipse.jdt.internal.core.search.indexing.IndexingParser;
+import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * @author Andrew Eisenberg
@@ -45,6 +67,26 @@ public class MultiplexingIndexingParser extends IndexingParser {
     boolean groovyReportReferenceInfo;
     ISourceElementRequestor requestor;
 
+    /** Reused for every groovy file indexed by this parser; see {@link #getGroovyParser()} */
+    private GroovyParser groovyParser;
+    private boolean groovyParserInUse;
+
+    /**
+     * Number of threads that parse groovy files ahead of the indexer. With less than 2, every file is parsed on the indexing
+     * thread when it is indexed.
+     */
+    private static volatile int parserThreads = Integer.getInteger("greclipse.indexing.threads",
+            Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private static ThreadPoolExecutor parserPool;
+
+    /** Groovy files handed to the parser pool and not indexed yet, by full path and in indexing order */
+    private final Map<String, Future<GroovyCompilationUnitDeclaration>> prefetched =
+        new LinkedHashMap<String, Future<GroovyCompilationUnitDeclaration>>();
+    /** Groovy files still to be handed to the parser pool, in indexing order */
+    private final LinkedList<IFile> toPrefetch = new LinkedList<IFile>();
+    /** Idle groovy parsers for the pool threads */
+    private final Queue<GroovyParser> poolParsers = new ConcurrentLinkedQueue<GroovyParser>();
+
     public MultiplexingIndexingParser(ISourceElementRequestor requestor, IProblemFactory problemFactory, CompilerOptions options,
             boolean reportLocalDeclarations, boolean optimizeStringLiterals, boolean useSourceJavadocParser) {
         super(requestor, problemFactory, options, reportLocalDeclarations, optimizeStringLiterals, useSourceJavadocParser);
@@ -68,23 +110,164 @@ public class MultiplexingIndexingParser extends IndexingParser {
             // 2) parsing is for the entire CU (ie- from character 0, to unit.getContents().length)
             // 3) nodesToCategories map is not necessary. I think it has something to do with JavaDoc, but not sure
 
+            boolean reentrant = groovyParserInUse;
+            groovyParserInUse = true;
+            try {
+                GroovyCompilationUnitDeclaration cud = takePrefetched(unit);
+                if (cud == null) {
+                    CompilationResult compilationResult = new CompilationResult(unit, 0, 0, this.options.maxProblemsPerUnit);
+                    GroovyParser parser = reentrant ? new GroovyParser(this.options, problemReporter, false, true) : getGroovyParser();
+                    cud = (GroovyCompilationUnitDeclaration) parser.dietParseForIndexing(unit, compilationResult);
+                }
+
+                HashtableOfObjectToInt sourceEnds = createSourceEnds(cud);
+                GroovyIndexingVisitor visitor = new GroovyIndexingVisitor(requestor);
+                visitor.doVisit(cud.getModuleNode(), cud.currentPackage);
+
+                notifier.notifySourceElementRequestor(cud, 0, unit.getContents().length, groovyReportReferenceInfo, sourceEnds,
+                /* We don't care about the @category tag, so pass empty map */Collections.EMPTY_MAP);
+                return cud;
+            } finally {
+                if (!reentrant) {
+                    groovyParserInUse = false;
+                }
+            }
+        } else {
+            return super.parseCompilationUnit(unit, fullParse, pm);
+        }
+    }
+
+    /**
+     * Hands the groovy files of an indexing job to the parser pool. Only a few files more than there are threads are parsed
+     * ahead of the indexer, so that the parse results do not pile up in memory. Everything else about indexing (the visitor,
+     * the requestor and the index itself) stays on the indexing thread.
+     */
+    @Override
+    public void prepareToIndex(IFile[] files) {
+        if (parserThreads < 2) {
+            return;
+        }
+        for (IFile file : files) {
+            if (ContentTypeUtils.isGroovyLikeFileName(file.getName())) {
+                toPrefetch.add(file);
+            }
+        }
+        fillPrefetchWindow();
+    }
+
+    private void fillPrefetchWindow() {
+        int window = parserThreads * 2;
+        while (prefetched.size() < window && !toPrefetch.isEmpty()) {
+            final IFile file = toPrefetch.removeFirst();
+            Callable<GroovyCompilationUnitDeclaration> task = new Callable<GroovyCompilationUnitDeclaration>() {
+                public GroovyCompilationUnitDeclaration call() throws Exception {
+                    return parseInBackground(file);
+                }
+            };
+            prefetched.put(file.getFullPath().toString(), getParserPool().submit(task));
+        }
+    }
+
+    private GroovyCompilationUnitDeclaration parseInBackground(IFile file) throws JavaModelException {
+        char[] contents = Util.getResourceContentsAsCharArray(file);
+        ICompilationUnit unit = new BasicCompilationUnit(contents, null, file.getFullPath().toString());
+        GroovyParser parser = poolParsers.poll();
+        if (parser == null) {
+            ProblemReporter reporter = new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), this.options,
+                    new DefaultProblemFactory());
+            parser = new GroovyParser(this.options, reporter, false, true);
+        } else {
+            parser.resetForIndexing();
+        }
+        try {
             CompilationResult compilationResult = new CompilationResult(unit, 0, 0, this.options.maxProblemsPerUnit);
+            return (GroovyCompilationUnitDeclaration) parser.dietParseForIndexing(unit, compilationResult);
+        } finally {
+            poolParsers.offer(parser);
+        }
+    }
 
-            // FIXASC Is it ok to use a new parser here everytime? If we don't we sometimes recurse back into the first one
-            GroovyCompilationUnitDeclaration cud = (GroovyCompilationUnitDeclaration) new GroovyParser(this.options,
-                    problemReporter, false, true).dietParse(unit, compilationResult);
+    /**
+     * @return the result of parsing the unit in the parser pool, or null if it was not handed to the pool, failed there, or
+     *         the contents of the file have changed since
+     */
+    private GroovyCompilationUnitDeclaration takePrefetched(ICompilationUnit unit) {
+        String path = String.valueOf(unit.getFileName());
+        if (!prefetched.containsKey(path)) {
+            return null;
+        }
+        Future<GroovyCompilationUnitDeclaration> future = null;
+        Iterator<Map.Entry<String, Future<GroovyCompilationUnitDeclaration>>> it = prefetched.entrySet().iterator();
+        while (future == null) {
+            Map.Entry<String, Future<GroovyCompilationUnitDeclaration>> entry = it.next();
+            it.remove();
+            if (entry.getKey().equals(path)) {
+                future = entry.getValue();
+            } else {
+                // files are indexed in order, so this one has been skipped
+                entry.getValue().cancel(false);
+            }
+        }
+        fillPrefetchWindow();
+        try {
+            GroovyCompilationUnitDeclaration cud = future.get();
+            if (CharOperation.equals(cud.compilationResult.compilationUnit.getContents(), unit.getContents())) {
+                return cud;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // parse again on the indexing thread, which deals with the problem as usual
+        }
+        return null;
+    }
 
-            // CompilationUnitDeclaration cud groovyParser.dietParse(sourceUnit, compilationResult);
-            HashtableOfObjectToInt sourceEnds = createSourceEnds(cud);
-            GroovyIndexingVisitor visitor = new GroovyIndexingVisitor(requestor);
-            visitor.doVisit(cud.getModuleNode(), cud.currentPackage);
+    private static synchronized ExecutorService getParserPool() {
+        if (parserPool == null) {
+            int threads = Math.max(1, parserThreads);
+            parserPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        private int count;
 
-            notifier.notifySourceElementRequestor(cud, 0, unit.getContents().length, groovyReportReferenceInfo, sourceEnds,
-            /* We don't care about the @category tag, so pass empty map */Collections.EMPTY_MAP);
-            return cud;
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "Groovy indexing parser " + (++count));
+                            thread.setDaemon(true);
+                            thread.setPriority(Thread.MIN_PRIORITY);
+                            return thread;
+                        }
+                    });
+        }
+        return parserPool;
+    }
+
+    /**
+     * Changes the number of threads that parse groovy files ahead of the indexer; mainly for benchmarking. Indexing jobs that
+     * are already running keep the previous pool.
+     */
+    public static synchronized void setParserThreads(int threads) {
+        parserThreads = threads;
+        if (parserPool != null) {
+            parserPool.shutdown();
+            parserPool = null;
+        }
+    }
+
+    public static int getParserThreads() {
+        return parserThreads;
+    }
+
+    /**
+     * The index manager keeps one indexing parser per project for the duration of an indexing job, so the groovy parser (and the
+     * compilation customizers it has loaded) can be shared by all the files of the job. A fresh groovy parser is only used if
+     * this parser is re-entered while a groovy file is still being indexed.
+     */
+    private GroovyParser getGroovyParser() {
+        if (groovyParser == null) {
+            groovyParser = new GroovyParser(this.options, problemReporter, false, true);
         } else {
-            return super.parseCompilationUnit(unit, fullParse, pm);
+            groovyParser.resetForIndexing();
         }
+        return groovyParser;
     }
 
     // FIXASC this code is copied from MultiplexingSourceElementParser. Should combine
@@ -241,6 +241,24 @@ public class GroovyCompilationUnitScope extends CompilationUnitScope {
             }
         }
         super.buildTypeBindings(accessRestriction);
+        UnresolvableTypeCache.typesAdded(environment);
+    }
+
+    /**
+     * Looks up a type by its qualified name, unless the environment is already known not to have it.
+     */
+    private TypeBinding lookupType(String typename) {
+        boolean cacheable = UnresolvableTypeCache.isCacheable(environment, typename);
+        if (cacheable && UnresolvableTypeCache.isUnresolvable(environment, typename)) {
+            return null;
+        }
+        char[][] compoundName = CharOperation.splitOn('.', typename.toCharArray());
+        TypeBinding jdtBinding = getType(compoundName, compoundName.length);
+        if (cacheable && (jdtBinding == null || (jdtBinding instanceof ProblemReferenceBinding &&
+                ((ProblemReferenceBinding) jdtBinding).problemId() == ProblemReasons.NotFound))) {
+            UnresolvableTypeCache.recordUnresolvable(environment, typename);
+        }
+        return jdtBinding;
     }
 
     /*
@@ -249,10 +267,9 @@ public class GroovyCompilationUnitScope extends CompilationUnitScope {
      * during the full build
      */
     public ClassNode lookupClassNodeForSource(String typename, JDTResolver jdtResolver) {
-        char[][] compoundName = CharOperation.splitOn('.', typename.toCharArray());
         TypeBinding jdtBinding = null;
         try {
-            jdtBinding = getType(compoundName, compoundName.length);
+            jdtBinding = lookupType(typename);
         } catch (AbortCompilation t) {
             if (t.silentException instanceof AbortIncrementalBuildException) {
                 jdtBinding = null;
@@ -280,8 +297,7 @@ public class GroovyCompilationUnitScope extends CompilationUnitScope {
     }
 
     public ClassNode lookupClassNodeForBinary(String typename, JDTResolver jdtResolver) {
-        char[][] compoundName = CharOperation.splitOn('.', typename.toCharArray());
-        TypeBinding jdtBinding = getType(compoundName, compoundName.length);
+        TypeBinding jdtBinding = lookupType(typename);
 
         if (jdtBinding instanceof BinaryTypeBinding) {
             return jdtResolver.convertToClassNode(jdtBinding);
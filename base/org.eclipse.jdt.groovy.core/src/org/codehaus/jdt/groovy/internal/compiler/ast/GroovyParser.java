@@ -80,6 +80,10 @@ public class GroovyParser {
     private CompilationUnit compilationUnit;
     private CompilerOptions compilerOptions;
 
+    /** Customizers instantiated for the last compilation unit, reused by {@link #resetForIndexing()} while the loader is the same */
+    private CompilationCustomizer[] customizers;
+    private ClassLoader customizersLoader;
+
     public CompilerOptions getCompilerOptions() {
         return compilerOptions;
     }
@@ -257,16 +261,30 @@ public class GroovyParser {
         // types and is *only* called if a grab has occurred somewhere during compilation.
         // Currently it is not cached but created each time - we'll have to decide if there is a need to cache
         GrapeAwareGroovyClassLoader grabbyLoader = new GrapeAwareGroovyClassLoader(gcl);
-        this.compilationUnit = makeCompilationUnit(grabbyLoader, gcl, isReconcile, allowTransforms);
+        this.compilationUnit = makeCompilationUnit(grabbyLoader, gcl, isReconcile, allowTransforms, false);
         this.compilationUnit.removeOutputPhaseOperation();
     }
 
     public void reset() {
+        reset(false);
+    }
+
+    /**
+     * Same as {@link #reset()}, but keeps the compilation customizers of the previous compilation unit. Only for parsers that
+     * are used with {@link #dietParseForIndexing(ICompilationUnit, CompilationResult)}. Customizers can keep state (eg- the
+     * ASTTransformationCustomizer applies itself only once), so all other compilation units get their own instances.
+     */
+    public void resetForIndexing() {
+        reset(true);
+    }
+
+    private void reset(boolean reuseCustomizers) {
         GroovyClassLoader gcl = getLoaderFor(gclClasspath);
         this.compilationUnit = makeCompilationUnit(
             new GrapeAwareGroovyClassLoader(gcl), gcl,
             this.compilationUnit.isReconcile,
-            this.compilationUnit.allowTransforms);
+            this.compilationUnit.allowTransforms,
+            reuseCustomizers);
     }
 
     static class GrapeAwareGroovyClassLoader extends GroovyClassLoader {
@@ -300,6 +318,20 @@ public class GroovyParser {
         }
     }
 
+    /**
+     * Number of threads that generate bytecode for the classes of a compilation unit in a full or incremental build. Less
+     * than 2, the default, keeps generation on the building thread; reconciling never generates bytecode.
+     */
+    private static volatile int classgenThreads = Integer.getInteger("greclipse.classgen.threads", 0);
+
+    public static void setClassgenThreads(int threads) {
+        classgenThreads = threads;
+    }
+
+    public static int getClassgenThreads() {
+        return classgenThreads;
+    }
+
     private static URLClassLoader createLoader(URL[] urls, ClassLoader parent) {
         if (NONLOCKING) {
             return new NonLockingJarFileClassLoader("AST Transform loader", urls, parent);
@@ -353,6 +385,19 @@ public class GroovyParser {
      * Call the groovy parser to drive the first few phases of
      */
     public CompilationUnitDeclaration dietParse(ICompilationUnit sourceUnit, CompilationResult compilationResult) {
+        return dietParse(sourceUnit, compilationResult, false);
+    }
+
+    /**
+     * Same as {@link #dietParse(ICompilationUnit, CompilationResult)}, but only does what the indexer needs: the file name is
+     * not resolved against the workspace, scripts are not detected and the declared types are not recorded with the resolver,
+     * since the result is never resolved or compiled. Call {@link #reset()} before reusing the parser for another file.
+     */
+    public CompilationUnitDeclaration dietParseForIndexing(ICompilationUnit sourceUnit, CompilationResult compilationResult) {
+        return dietParse(sourceUnit, compilationResult, true);
+    }
+
+    private CompilationUnitDeclaration dietParse(ICompilationUnit sourceUnit, CompilationResult compilationResult, boolean forIndexing) {
         char[] sourceCode = sourceUnit.getContents();
         if (sourceCode == null) {
             sourceCode = CharOperation.NO_CHAR; // pretend empty from thereon
@@ -376,7 +421,7 @@ public class GroovyParser {
         Path path = new Path(filepath);
         IFile eclipseFile = null;
         // GRECLIPSE-1269 ensure get plugin is not null to ensure the workspace is open (ie- not in batch mode)
-        if (ResourcesPlugin.getPlugin() != null && path.segmentCount() >= 2) { // Needs 2 segments: a project and file name or
+        if (!forIndexing && ResourcesPlugin.getPlugin() != null && path.segmentCount() >= 2) { // Needs 2 segments: a project and file name or
             // eclipse throws assertion failed here.
             eclipseFile = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(filepath));
             final IPath location = eclipseFile.getLocation();
@@ -410,9 +455,11 @@ public class GroovyParser {
         // Otherwise, recover what we can
         if (gcuDeclaration.getModuleNode() != null) {
             gcuDeclaration.populateCompilationUnitDeclaration();
-            for (TypeDeclaration decl : gcuDeclaration.types) {
-                GroovyTypeDeclaration gtDeclaration = (GroovyTypeDeclaration) decl;
-                resolver.record(gtDeclaration);
+            if (!forIndexing) {
+                for (TypeDeclaration decl : gcuDeclaration.types) {
+                    GroovyTypeDeclaration gtDeclaration = (GroovyTypeDeclaration) decl;
+                    resolver.record(gtDeclaration);
+                }
             }
         }
         // Is this a script?
@@ -483,13 +530,13 @@ public class GroovyParser {
         }
     }
 
-    private CompilationUnit makeCompilationUnit(GroovyClassLoader loader, GroovyClassLoader transformLoader, boolean isReconcile, boolean allowTransforms) {
+    private CompilationUnit makeCompilationUnit(GroovyClassLoader loader, GroovyClassLoader transformLoader, boolean isReconcile, boolean allowTransforms, boolean reuseCustomizers) {
 
         // FIXASC (M3) need our own tweaked subclass of CompilerConfiguration?
         CompilerConfiguration compilerConfiguration = new CompilerConfiguration();
-        if (compilerOptions.groovyCustomizerClassesList != null && transformLoader != null) {
-            List<CompilationCustomizer> customizers = new ArrayList<CompilationCustomizer>();
-            if (loader != null) {
+        if (compilerOptions.groovyCustomizerClassesList != null && transformLoader != null && loader != null) {
+            if (!reuseCustomizers || customizers == null || customizersLoader != transformLoader) {
+                List<CompilationCustomizer> loaded = new ArrayList<CompilationCustomizer>();
                 StringTokenizer tokenizer = new StringTokenizer(compilerOptions.groovyCustomizerClassesList, ",");
                 ClassLoader savedLoader = Thread.currentThread().getContextClassLoader();
                 try {
@@ -499,7 +546,7 @@ public class GroovyParser {
                         try {
                             Class<?> clazz = transformLoader.loadClass(classname);
                             CompilationCustomizer cc = (CompilationCustomizer) clazz.newInstance();
-                            customizers.add(cc);
+                            loaded.add(cc);
                         } catch (Exception e) {
                             e.printStackTrace();
                         }
@@ -507,8 +554,10 @@ public class GroovyParser {
                 } finally {
                     Thread.currentThread().setContextClassLoader(savedLoader);
                 }
-                compilerConfiguration.addCompilationCustomizers(customizers.toArray(new CompilationCustomizer[customizers.size()]));
+                customizers = loaded.toArray(new CompilationCustomizer[loaded.size()]);
+                customizersLoader = transformLoader;
             }
+            compilerConfiguration.addCompilationCustomizers(customizers);
         }
 
         CompilationUnit cu = new CompilationUnit(
@@ -522,6 +571,9 @@ public class GroovyParser {
         this.resolver = new JDTResolver(cu);
         cu.setResolveVisitor(resolver);
         cu.tweak(isReconcile);
+        if (!isReconcile) {
+            cu.setClassgenThreads(classgenThreads);
+        }
 
         // Grails add
         if (allowTransforms && transformLoader != null && compilerOptions != null && (compilerOptions.groovyFlags & CompilerUtils.IsGrails) != 0) {
@@ -131,28 +131,30 @@ public class JDTAnnotationNode extends AnnotationNode {
     }
 
     private void ensureMembersInitialized() {
-        if (membersInitialized) {
-            return;
-        }
-        membersInitialized = true;
-        ElementValuePair[] evpairs = annotationBinding.getElementValuePairs();
-        for (ElementValuePair evpair : evpairs) {
-            char[] name = evpair.getName();
-            MethodBinding mb = evpair.binding;
-            Expression valueExpression = null;
-            // FIXASC needs more cases considering
-            if (mb == null) {
-                if (evpair.value instanceof StringConstant) {
-                    String v = ((StringConstant) evpair.value).stringValue();
-                    valueExpression = new ConstantExpression(v);
+        synchronized (resolver) {
+            if (membersInitialized) {
+                return;
+            }
+            membersInitialized = true;
+            ElementValuePair[] evpairs = annotationBinding.getElementValuePairs();
+            for (ElementValuePair evpair : evpairs) {
+                char[] name = evpair.getName();
+                MethodBinding mb = evpair.binding;
+                Expression valueExpression = null;
+                // FIXASC needs more cases considering
+                if (mb == null) {
+                    if (evpair.value instanceof StringConstant) {
+                        String v = ((StringConstant) evpair.value).stringValue();
+                        valueExpression = new ConstantExpression(v);
+                    } else {
+                        // GRECLIPSE-1587 fill in something here to avoid an NPE
+                        valueExpression = ConstantExpression.NULL;
+                    }
                 } else {
-                    // GRECLIPSE-1587 fill in something here to avoid an NPE
-                    valueExpression = ConstantExpression.NULL;
+                    valueExpression = createExpressionFor(mb.returnType, evpair.value);
                 }
-            } else {
-                valueExpression = createExpressionFor(mb.returnType, evpair.value);
+                super.addMember(new String(name), valueExpression);
             }
-            super.addMember(new String(name), valueExpression);
         }
     }
 
@@ -65,6 +65,7 @@ import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.SyntheticMethodBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.lookup.TypeVariableBinding;
 
 /**
@@ -87,7 +88,8 @@ public class JDTClassNode extends ClassNode implements JDTNode {
 
     private boolean beingInitialized = false;
 
-    private boolean anyGenericsInitialized = false;
+    // set only once the generics are in place, since it is read without holding the lock
+    private volatile boolean anyGenericsInitialized = false;
 
     // The resolver instance involved at the moment
     JDTResolver resolver;
@@ -98,6 +100,13 @@ public class JDTClassNode extends ClassNode implements JDTNode {
     private static final int PROPERTIES_INITIALIZED = 0x0002;
     private TypeDeclaration groovyDecl = null;
 
+    // Methods are converted on demand, either all at once or by name; methodsInitialized is only set once every method has
+    // been added, since it is read without holding the lock, and methodsInitializing catches re-entrant requests before that
+    private volatile boolean methodsInitialized = false;
+    private boolean methodsInitializing = false;
+    private Set<String> initializedMethodNames;
+    private boolean methodsVerified = false;
+
     static final ClassNode unboundWildcard; // represents plain old '?'
 
     static final GenericsType genericsTypeUnboundWildcard;
@@ -124,8 +133,13 @@ public class JDTClassNode extends ClassNode implements JDTNode {
         super(getName(jdtReferenceBinding), getMods(jdtReferenceBinding), null);
         this.jdtBinding = jdtReferenceBinding;
         this.resolver = resolver;
+        // JDT bindings are not thread safe and classes may be generated in parallel, so all the lazy initialization of
+        // nodes that come from the same resolver is done under one lock
+        if (resolver != null) {
+            this.lazyInitLock = resolver;
+        }
 
-        // population of the methods/ctors/fields/etc is not done until required
+        // population of the methods/ctors/fields/etc is not done until required (methods are populated separately)
         this.lazyInitDone = false;
 
         // a primary node will result in a class file
@@ -199,8 +213,8 @@ public class JDTClassNode extends ClassNode implements JDTNode {
     }
 
     public void setGenericsTypes(GenericsType[] genericsTypes) {
-        this.anyGenericsInitialized = true;
         super.setGenericsTypes(genericsTypes);
+        this.anyGenericsInitialized = true;
     }
 
     /**
@@ -263,18 +277,15 @@ public class JDTClassNode extends ClassNode implements JDTNode {
         MethodBinding[] bindings = null;
         if (jdtBinding instanceof ParameterizedTypeBinding) {
             ReferenceBinding genericType = ((ParameterizedTypeBinding) jdtBinding).genericType();
-            bindings = genericType.methods();
+            bindings = genericType.getMethods(TypeConstants.INIT);
         } else {
-            bindings = jdtBinding.methods();
+            bindings = jdtBinding.getMethods(TypeConstants.INIT);
         }
         if (bindings != null) {
             for (int i = 0; i < bindings.length; i++) {
                 if (bindings[i].isConstructor()) {
                     ConstructorNode cNode = constructorBindingToConstructorNode(bindings[i]);
                     addConstructor(cNode);
-                } else {
-                    MethodNode mNode = methodBindingToMethodNode(bindings[i]);
-                    addMethod(mNode);
                 }
             }
         }
@@ -284,38 +295,21 @@ public class JDTClassNode extends ClassNode implements JDTNode {
                 if (infraBindings[i].isConstructor()) {
                     ConstructorNode cNode = constructorBindingToConstructorNode(infraBindings[i]);
                     addConstructor(cNode);
-                } else {
-                    MethodNode mNode = methodBindingToMethodNode(infraBindings[i]);
-                    addMethod(mNode);
                 }
             }
         }
-        // Synthetic bindings are created for features like covariance, where the method implementing an interface method uses a
-        // different return type (interface I { A foo(); } class C implements I { AA foo(); } - this needs a method 'A foo()' in C.
-        if (jdtBinding instanceof SourceTypeBinding) {
-            SourceTypeBinding jdtSourceTypeBinding = (SourceTypeBinding) jdtBinding;
-            ClassScope classScope = jdtSourceTypeBinding.scope;
-            // a null scope indicates it has already been 'cleaned up' so nothing to do (CUDeclaration.cleanUp())
-            if (classScope != null) {
-                CompilationUnitScope cuScope = classScope.compilationUnitScope();
-                LookupEnvironment environment = classScope.environment();
-                MethodVerifier verifier = environment.methodVerifier();
-                cuScope.verifyMethods(verifier);
-            }
-            SyntheticMethodBinding[] syntheticMethodBindings = ((SourceTypeBinding) jdtBinding).syntheticMethods();
-            if (syntheticMethodBindings != null) {
-                for (int i = 0; i < syntheticMethodBindings.length; i++) {
-                    if (syntheticMethodBindings[i].isConstructor()) {
-                        ConstructorNode cNode = constructorBindingToConstructorNode(bindings[i]);
-                        addConstructor(cNode);
-                    } else {
-                        MethodNode mNode = methodBindingToMethodNode(syntheticMethodBindings[i]);
-                        addMethod(mNode);
-                    }
+        SyntheticMethodBinding[] syntheticMethodBindings = getSyntheticMethodBindings();
+        if (syntheticMethodBindings != null) {
+            for (int i = 0; i < syntheticMethodBindings.length; i++) {
+                if (syntheticMethodBindings[i].isConstructor()) {
+                    ConstructorNode cNode = constructorBindingToConstructorNode(syntheticMethodBindings[i]);
+                    addConstructor(cNode);
                 }
             }
         }
 
+        // Methods are not converted here; see getMethods() and getDeclaredMethods(String)
+
         FieldBinding[] fieldBindings = null;
         if (jdtBinding instanceof ParameterizedTypeBinding) {
             fieldBindings = ((ParameterizedTypeBinding) jdtBinding).genericType().fields();
@@ -330,6 +324,144 @@ public class JDTClassNode extends ClassNode implements JDTNode {
         }
     }
 
+    /**
+     * Synthetic bindings are created for features like covariance, where the method implementing an interface method uses a
+     * different return type (interface I { A foo(); } class C implements I { AA foo(); } - this needs a method 'A foo()' in C.
+     * The method verifier that creates them is run at most once per node.
+     */
+    private SyntheticMethodBinding[] getSyntheticMethodBindings() {
+        if (!(jdtBinding instanceof SourceTypeBinding)) {
+            return null;
+        }
+        if (!methodsVerified) {
+            methodsVerified = true;
+            ClassScope classScope = ((SourceTypeBinding) jdtBinding).scope;
+            // a null scope indicates it has already been 'cleaned up' so nothing to do (CUDeclaration.cleanUp())
+            if (classScope != null) {
+                CompilationUnitScope cuScope = classScope.compilationUnitScope();
+                LookupEnvironment environment = classScope.environment();
+                MethodVerifier verifier = environment.methodVerifier();
+                cuScope.verifyMethods(verifier);
+            }
+        }
+        return ((SourceTypeBinding) jdtBinding).syntheticMethods();
+    }
+
+    /**
+     * Converts every method of the underlying binding that has not already been converted by name.
+     */
+    private void ensureMethodsInitialized() {
+        if (methodsInitialized) {
+            return;
+        }
+        synchronized (lazyInitLock) {
+            if (methodsInitialized || methodsInitializing) {
+                // re-entrant requests made during conversion see what has been added so far
+                return;
+            }
+            methodsInitializing = true;
+            try {
+                Set<String> converted = initializedMethodNames;
+
+                MethodBinding[] bindings = null;
+                if (jdtBinding instanceof ParameterizedTypeBinding) {
+                    bindings = ((ParameterizedTypeBinding) jdtBinding).genericType().methods();
+                } else {
+                    bindings = jdtBinding.methods();
+                }
+                addMethods(bindings, null, converted);
+                if (jdtBinding instanceof BinaryTypeBinding) {
+                    addMethods(((BinaryTypeBinding) jdtBinding).infraMethods(), null, converted);
+                }
+                addMethods(getSyntheticMethodBindings(), null, converted);
+            } finally {
+                initializedMethodNames = null;
+                methodsInitializing = false;
+                methodsInitialized = true;
+            }
+        }
+    }
+
+    /**
+     * Converts only the methods of the underlying binding with the given name. Type inferencing typically asks for a handful of
+     * names on types with hundreds of methods, so this avoids building nodes (and resolving the types they refer to) for the
+     * rest.
+     */
+    private void ensureMethodsInitialized(String name) {
+        if (methodsInitialized) {
+            return;
+        }
+        synchronized (lazyInitLock) {
+            if (methodsInitialized || methodsInitializing) {
+                return;
+            }
+            if (initializedMethodNames == null) {
+                initializedMethodNames = new HashSet<String>();
+            }
+            if (!initializedMethodNames.add(name)) {
+                return;
+            }
+            char[] selector = name.toCharArray();
+
+            MethodBinding[] bindings = null;
+            if (jdtBinding instanceof ParameterizedTypeBinding) {
+                bindings = ((ParameterizedTypeBinding) jdtBinding).genericType().getMethods(selector);
+            } else {
+                bindings = jdtBinding.getMethods(selector);
+            }
+            addMethods(bindings, selector, null);
+            if (jdtBinding instanceof BinaryTypeBinding) {
+                addMethods(((BinaryTypeBinding) jdtBinding).infraMethods(), selector, null);
+            }
+            addMethods(getSyntheticMethodBindings(), selector, null);
+        }
+    }
+
+    /**
+     * @param selector if non-null, only methods with this name are converted
+     * @param skip names of methods that have been converted already
+     */
+    private void addMethods(MethodBinding[] bindings, char[] selector, Set<String> skip) {
+        if (bindings != null) {
+            for (int i = 0; i < bindings.length; i++) {
+                if (bindings[i].isConstructor() || (selector != null && !CharOperation.equals(selector, bindings[i].selector))) {
+                    continue;
+                }
+                if (skip != null && skip.contains(new String(bindings[i].selector))) {
+                    continue;
+                }
+                MethodNode mNode = methodBindingToMethodNode(bindings[i]);
+                addMethod(mNode);
+            }
+        }
+    }
+
+    @Override
+    public List<MethodNode> getMethods() {
+        if (!lazyInitDone) {
+            lazyClassInit();
+        }
+        if (redirect == null) {
+            ensureMethodsInitialized();
+        }
+        return super.getMethods();
+    }
+
+    @Override
+    public List<MethodNode> getDeclaredMethods(String name) {
+        if (!lazyInitDone) {
+            lazyClassInit();
+        }
+        if (redirect == null && !methodsInitialized) {
+            // other names may be converted concurrently until all methods are, so read under the lock
+            synchronized (lazyInitLock) {
+                ensureMethodsInitialized(name);
+                return super.getDeclaredMethods(name);
+            }
+        }
+        return super.getDeclaredMethods(name);
+    }
+
     @Override
     public boolean mightHaveInners() {
         // return super.hasInnerClasses();
@@ -436,7 +568,9 @@ public class JDTClassNode extends ClassNode implements JDTNode {
 
     private void ensureGenericsInitialized() {
         if (!anyGenericsInitialized) {
-            setupGenerics();
+            synchronized (lazyInitLock) {
+                setupGenerics();
+            }
         }
     }
 
@@ -537,17 +671,19 @@ public class JDTClassNode extends ClassNode implements JDTNode {
         return super.getAnnotations(type);
     }
 
-    private synchronized void ensureAnnotationsInitialized() {
-        if ((bits & ANNOTATIONS_INITIALIZED) == 0) {
-            if ((jdtBinding instanceof SourceTypeBinding)) {
-                // ensure resolved
-                ((SourceTypeBinding) jdtBinding).getAnnotationTagBits();
-            }
-            AnnotationBinding[] annotationBindings = jdtBinding.getAnnotations();
-            for (AnnotationBinding annotationBinding : annotationBindings) {
-                addAnnotation(new JDTAnnotationNode(annotationBinding, this.resolver));
+    private void ensureAnnotationsInitialized() {
+        synchronized (lazyInitLock) {
+            if ((bits & ANNOTATIONS_INITIALIZED) == 0) {
+                if ((jdtBinding instanceof SourceTypeBinding)) {
+                    // ensure resolved
+                    ((SourceTypeBinding) jdtBinding).getAnnotationTagBits();
+                }
+                AnnotationBinding[] annotationBindings = jdtBinding.getAnnotations();
+                for (AnnotationBinding annotationBinding : annotationBindings) {
+                    addAnnotation(new JDTAnnotationNode(annotationBinding, this.resolver));
+                }
+                bits |= ANNOTATIONS_INITIALIZED;
             }
-            bits |= ANNOTATIONS_INITIALIZED;
         }
     }
 
@@ -557,32 +693,34 @@ public class JDTClassNode extends ClassNode implements JDTNode {
         }
     }
 
-    protected synchronized void initializeProperties() {
-        if ((bits & PROPERTIES_INITIALIZED) == 0) {
-            lazyClassInit();
-            // getX methods
-            // make it behave like groovy - no property nodes unless it is groovy source
-            if (groovyDecl != null) {
-                Set<String> existing = new HashSet<String>();
-                for (MethodNode methodNode : getMethods()) {
-                    if (isGetter(methodNode)) {
-                        // STS-2628 be careful not to double-add properties if there is a getter and an isser variant
-                        String propertyName = convertToPropertyName(methodNode.getName());
-                        if (!existing.contains(propertyName)) {
-                            existing.add(propertyName);
-                            // Adding a real field for these accessors can trip up CompileStatic which
-                            // will attempt to access it as a real field
-                            super.addPropertyWithoutField(createPropertyNodeForMethodNode(methodNode, propertyName));
-                            // super.addProperty(createPropertyNodeForMethodNode(methodNode, propertyName));
+    protected void initializeProperties() {
+        synchronized (lazyInitLock) {
+            if ((bits & PROPERTIES_INITIALIZED) == 0) {
+                lazyClassInit();
+                // getX methods
+                // make it behave like groovy - no property nodes unless it is groovy source
+                if (groovyDecl != null) {
+                    Set<String> existing = new HashSet<String>();
+                    for (MethodNode methodNode : getMethods()) {
+                        if (isGetter(methodNode)) {
+                            // STS-2628 be careful not to double-add properties if there is a getter and an isser variant
+                            String propertyName = convertToPropertyName(methodNode.getName());
+                            if (!existing.contains(propertyName)) {
+                                existing.add(propertyName);
+                                // Adding a real field for these accessors can trip up CompileStatic which
+                                // will attempt to access it as a real field
+                                super.addPropertyWithoutField(createPropertyNodeForMethodNode(methodNode, propertyName));
+                                // super.addProperty(createPropertyNodeForMethodNode(methodNode, propertyName));
+                            }
                         }
                     }
+                    // fields - FIXASC nyi for fields
+                    // for (FieldNode fieldNode : getFields()) {
+                    // super.addProperty(createPropertyNodeFromFieldNode(fieldNode));
+                    // }
                 }
-                // fields - FIXASC nyi for fields
-                // for (FieldNode fieldNode : getFields()) {
-                // super.addProperty(createPropertyNodeFromFieldNode(fieldNode));
-                // }
+                bits |= PROPERTIES_INITIALIZED;
             }
-            bits |= PROPERTIES_INITIALIZED;
         }
     }
 
@@ -71,11 +71,25 @@ class JDTClassNodeBuilder {
         if (type instanceof TypeVariableBinding) {
             return configureTypeVariableReference((TypeVariableBinding) type);
         } else if (type instanceof ParameterizedTypeBinding) {
-            return configureParameterizedType((ParameterizedTypeBinding) type);
+            if (type instanceof RawTypeBinding) {
+                return configureParameterizedType((ParameterizedTypeBinding) type);
+            }
+            // parameterized and wildcard bindings are interned by the lookup environment, so the node can be shared
+            ClassNode node = resolver.getConfiguredType(type);
+            if (node == null) {
+                node = configureParameterizedType((ParameterizedTypeBinding) type);
+                resolver.recordConfiguredType(type, node);
+            }
+            return node;
         } else if (type instanceof BinaryTypeBinding) {
             return configureClass((BinaryTypeBinding) type);
         } else if (type instanceof WildcardBinding) {
-            return configureWildcardType((WildcardBinding) type);
+            ClassNode node = resolver.getConfiguredType(type);
+            if (node == null) {
+                node = configureWildcardType((WildcardBinding) type);
+                resolver.recordConfiguredType(type, node);
+            }
+            return node;
         } else if (type instanceof ArrayBinding) {
             return configureGenericArray((ArrayBinding) type);
         } else if (type instanceof BaseTypeBinding) {
@@ -116,12 +130,26 @@ class JDTClassNodeBuilder {
         }
         GenericsType[] gts = new GenericsType[ta.length];
         for (int i = 0; i < ta.length; i++) {
-            ClassNode t = configureType(ta[i]);
             if (ta[i] instanceof WildcardBinding) {
+                ClassNode t = configureType(ta[i]);
                 GenericsType[] gen = t.getGenericsTypes();
                 gts[i] = gen[0];
+            } else if (ta[i] instanceof TypeVariableBinding) {
+                gts[i] = new GenericsType(configureType(ta[i]));
             } else {
-                gts[i] = new GenericsType(t);
+                GenericsType gt = resolver.getTypeArgument(ta[i]);
+                if (gt == null) {
+                    ClassNode t;
+                    if (ta[i] instanceof BinaryTypeBinding || ta[i] instanceof SourceTypeBinding) {
+                        // a plain type argument is never modified, so use the resolver's node rather than a private copy
+                        t = resolver.convertToClassNode(ta[i]);
+                    } else {
+                        t = configureType(ta[i]);
+                    }
+                    gt = new GenericsType(t);
+                    resolver.recordTypeArgument(ta[i], gt);
+                }
+                gts[i] = gt;
             }
         }
         return gts;
@@ -30,6 +30,7 @@ import groovy.lang.GroovyClassLoader;
 
 import org.codehaus.groovy.ast.ClassHelper;
 import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.GenericsType;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilationUnit;
 import org.codehaus.groovy.control.ResolveVisitor;
@@ -130,6 +131,13 @@ public class JDTResolver extends ResolveVisitor {
     // Cache from bindings to JDTClassNodes to avoid unnecessary JDTClassNode creation
     private Map<TypeBinding, JDTClassNode> nodeCache = new IdentityHashMap<TypeBinding, JDTClassNode>();
 
+    // Cache from parameterized and wildcard bindings to the ClassNodes configured for them; the lookup environment interns these
+    // bindings, so identical type references share a single ClassNode (and GenericsTypes) rather than building one per reference
+    private Map<TypeBinding, ClassNode> configuredTypes = new IdentityHashMap<TypeBinding, ClassNode>();
+
+    // Cache from type argument bindings to the GenericsTypes that wrap them
+    private Map<TypeBinding, GenericsType> typeArguments = new IdentityHashMap<TypeBinding, GenericsType>();
+
     private Set<ClassNode> resolvedClassNodes = new HashSet<ClassNode>();
 
     public JDTResolver(CompilationUnit groovyCompilationUnit) {
@@ -406,8 +414,9 @@ public class JDTResolver extends ResolveVisitor {
 
     /**
      * Converts a JDT TypeBinding to a Groovy ClassNode.
+     * Synchronized as classes of one compilation unit may be generated in parallel.
      */
-    protected ClassNode convertToClassNode(TypeBinding jdtBinding) {
+    protected synchronized ClassNode convertToClassNode(TypeBinding jdtBinding) {
         JDTClassNode existingNode = checkForExisting(jdtBinding);
         if (existingNode != null) {
             if (DEBUG) {
@@ -434,6 +443,22 @@ public class JDTResolver extends ResolveVisitor {
         return node;
     }
 
+    ClassNode getConfiguredType(TypeBinding jdtBinding) {
+        return configuredTypes.get(jdtBinding);
+    }
+
+    void recordConfiguredType(TypeBinding jdtBinding, ClassNode classNode) {
+        configuredTypes.put(jdtBinding, classNode);
+    }
+
+    GenericsType getTypeArgument(TypeBinding jdtBinding) {
+        return typeArguments.get(jdtBinding);
+    }
+
+    void recordTypeArgument(TypeBinding jdtBinding, GenericsType genericsType) {
+        typeArguments.put(jdtBinding, genericsType);
+    }
+
     /**
      * Creates a Groovy ClassNode that represents the JDT TypeBinding. Build the basic structure, mark it as 'in progress' and then
      * continue with initialization. This allows self referential generic declarations.
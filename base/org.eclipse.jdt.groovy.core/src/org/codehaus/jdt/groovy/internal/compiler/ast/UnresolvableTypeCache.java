@@ -0,0 +1,99 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.jdt.groovy.internal.compiler.ast;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.PackageBinding;
+
+/**
+ * Remembers the fully qualified type names that a lookup environment could not find, so that the candidate names the resolver
+ * builds from imports, default imports and outer classes are not looked up again for every unit of a build. The names are kept
+ * per environment and dropped when the environment is reset or builds the type bindings of another Groovy unit. Other types
+ * are found on demand through the name environment, which JDT already treats as fixed until the environment is reset.
+ */
+public class UnresolvableTypeCache {
+
+    /** Keyed by the default package of the environment, which is replaced when the environment is reset */
+    private static final Map<PackageBinding, Set<String>> unresolvables = new WeakHashMap<PackageBinding, Set<String>>();
+
+    private static long lookupsAvoided;
+
+    private static long namesRecorded;
+
+    private UnresolvableTypeCache() {
+    }
+
+    /**
+     * Only names qualified by a package are the same for every unit of an environment; simple names and names that start with
+     * a type go through the imports and member types of the unit. A lowercase first segment is not enough to tell, since
+     * scripts often have lowercase names, so it has to be a package known to the environment.
+     */
+    static boolean isCacheable(LookupEnvironment environment, String typename) {
+        int dot = typename.indexOf('.');
+        return dot > 0 && environment.getTopLevelPackage(typename.substring(0, dot).toCharArray()) != null;
+    }
+
+    static synchronized boolean isUnresolvable(LookupEnvironment environment, String typename) {
+        Set<String> names = unresolvables.get(environment.defaultPackage);
+        if (names != null && names.contains(typename)) {
+            lookupsAvoided += 1;
+            return true;
+        }
+        return false;
+    }
+
+    static synchronized void recordUnresolvable(LookupEnvironment environment, String typename) {
+        Set<String> names = unresolvables.get(environment.defaultPackage);
+        if (names == null) {
+            names = new HashSet<String>();
+            unresolvables.put(environment.defaultPackage, names);
+        }
+        if (names.add(typename)) {
+            namesRecorded += 1;
+        }
+    }
+
+    /**
+     * Called when types are added to the environment, which may make any of the recorded names resolvable.
+     */
+    static synchronized void typesAdded(LookupEnvironment environment) {
+        unresolvables.remove(environment.defaultPackage);
+    }
+
+    /**
+     * @return the number of type lookups that were skipped because the name was known to be unresolvable
+     */
+    public static synchronized long getLookupsAvoided() {
+        return lookupsAvoided;
+    }
+
+    /**
+     * @return the number of unresolvable names that were recorded
+     */
+    public static synchronized long getNamesRecorded() {
+        return namesRecorded;
+    }
+
+    public static synchronized void resetCounters() {
+        lookupsAvoided = 0;
+        namesRecorded = 0;
+    }
+}
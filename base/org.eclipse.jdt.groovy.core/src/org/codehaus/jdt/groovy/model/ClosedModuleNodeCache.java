@@ -0,0 +1,237 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.jdt.groovy.model;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import groovy.lang.GroovySystem;
+
+import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Stores module nodes for groovy compilation units that are not working copies. This class is not meant to be accessed
+ * externally.
+ * <p>
+ * Entries are keyed by the full path of the unit's resource and are only returned while the resource's modification stamp is
+ * unchanged. At most {@link #MAX_ENTRIES} module nodes are kept, least recently used first out, and all of them are softly
+ * referenced so that they can be reclaimed under memory pressure.
+ * <p>
+ * Loading is coalesced per file: concurrent requests for the same file wait for the first one to finish parsing, while requests
+ * for different files proceed in parallel. No global lock is held while parsing.
+ * <p>
+ * The files in the cache can be {@link #save saved} on shutdown and {@link #warm loaded} again in the background after a
+ * restart, so that the first request for each of them does not have to parse and resolve it. Module nodes refer to the
+ * bindings of the compilation that built them and cannot be written out, so only the paths and stamps are saved.
+ *
+ * @see ModuleNodeMapper
+ */
+public class ClosedModuleNodeCache {
+
+    interface Loader {
+        ModuleNodeInfo load();
+    }
+
+    private static final ClosedModuleNodeCache INSTANCE = new ClosedModuleNodeCache();
+
+    public static ClosedModuleNodeCache getInstance() {
+        return INSTANCE;
+    }
+
+    private static final int MAX_ENTRIES = 32;
+
+    private static class Entry {
+        final long stamp;
+        final SoftReference<ModuleNodeInfo> info;
+
+        Entry(long stamp, ModuleNodeInfo info) {
+            this.stamp = stamp;
+            this.info = new SoftReference<ModuleNodeInfo>(info);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final Map<IPath, Entry> entries = new LinkedHashMap<IPath, Entry>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<IPath, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final ConcurrentMap<IPath, Object> loadLocks = new ConcurrentHashMap<IPath, Object>();
+
+    /**
+     * Returns the module info for the given file, loading it if there is no entry for the current modification stamp.
+     *
+     * @param path full path of the file
+     * @param stamp current modification stamp of the file
+     * @param loader parses the file when required; may return null
+     */
+    ModuleNodeInfo get(IPath path, long stamp, Loader loader) {
+        ModuleNodeInfo info = lookup(path, stamp);
+        if (info != null) {
+            return info;
+        }
+
+        Object loadLock = new Object();
+        Object existing = loadLocks.putIfAbsent(path, loadLock);
+        if (existing != null) {
+            loadLock = existing;
+        }
+        synchronized (loadLock) {
+            try {
+                // another thread may have finished loading while this one was waiting
+                info = lookup(path, stamp);
+                if (info == null) {
+                    info = loader.load();
+                    if (info != null) {
+                        synchronized (entries) {
+                            entries.put(path, new Entry(stamp, info));
+                        }
+                    }
+                }
+                return info;
+            } finally {
+                loadLocks.remove(path, loadLock);
+            }
+        }
+    }
+
+    private ModuleNodeInfo lookup(IPath path, long stamp) {
+        synchronized (entries) {
+            Entry entry = entries.get(path);
+            if (entry == null) {
+                return null;
+            }
+            ModuleNodeInfo info = entry.info.get();
+            if (info == null || entry.stamp != stamp) {
+                entries.remove(path);
+                return null;
+            }
+            return info;
+        }
+    }
+
+    /**
+     * @return true iff the module node of the given file is cached for its current modification stamp
+     */
+    public boolean contains(IFile file) {
+        return lookup(file.getFullPath(), file.getModificationStamp()) != null;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Writes the Groovy version and then the modification stamp and path of every cached file, least recently used first.
+     */
+    public void save(File file) throws IOException {
+        Map<IPath, Long> stamps = new LinkedHashMap<IPath, Long>();
+        synchronized (entries) {
+            for (Map.Entry<IPath, Entry> entry : entries.entrySet()) {
+                stamps.put(entry.getKey(), entry.getValue().stamp);
+            }
+        }
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(GroovySystem.getVersion());
+            writer.write('\n');
+            for (Map.Entry<IPath, Long> entry : stamps.entrySet()) {
+                writer.write(entry.getValue() + " " + entry.getKey().toPortableString());
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Loads the module nodes of the files listed by {@link #save}, skipping every file that has changed since and all of them if
+     * they were saved by another version of Groovy.
+     *
+     * @return the number of files loaded
+     */
+    public int warm(File file, IProgressMonitor monitor) throws IOException {
+        if (!file.isFile()) {
+            return 0;
+        }
+        Map<IPath, Long> stamps = new LinkedHashMap<IPath, Long>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            if (!GroovySystem.getVersion().equals(reader.readLine())) {
+                return 0;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int space = line.indexOf(' ');
+                if (space > 0) {
+                    try {
+                        stamps.put(Path.fromPortableString(line.substring(space + 1)), Long.valueOf(line.substring(0, space)));
+                    } catch (NumberFormatException e) {
+                        // skip the line
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        int loaded = 0;
+        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+        for (Map.Entry<IPath, Long> entry : stamps.entrySet()) {
+            if (monitor != null && monitor.isCanceled()) {
+                break;
+            }
+            if (entry.getKey().segmentCount() < 2) {
+                continue;
+            }
+            IFile resource = root.getFile(entry.getKey());
+            if (resource.exists() && resource.getModificationStamp() == entry.getValue().longValue() &&
+                    lookup(entry.getKey(), entry.getValue().longValue()) == null) {
+                IJavaElement element = JavaCore.create(resource);
+                if (element instanceof GroovyCompilationUnit && element.exists()) {
+                    GroovyCompilationUnit unit = (GroovyCompilationUnit) element;
+                    if (!unit.isWorkingCopy() && unit.getModuleInfo(true) != null) {
+                        loaded += 1;
+                    }
+                }
+            }
+        }
+        return loaded;
+    }
+}
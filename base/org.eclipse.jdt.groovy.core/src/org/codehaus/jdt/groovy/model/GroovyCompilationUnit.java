@@ -48,6 +48,7 @@ import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.util.CompilerUtils;
 import org.eclipse.jdt.groovy.core.util.JavaConstants;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
 import org.eclipse.jdt.internal.compiler.IErrorHandlingPolicy;
 import org.eclipse.jdt.internal.compiler.IProblemFactory;
 import org.eclipse.jdt.internal.compiler.SourceElementParser;
@@ -96,6 +97,15 @@ public class GroovyCompilationUnit extends CompilationUnit {
 
     }
 
+    // private fields of JDT that are accessed on every reconcile
+    static final FieldAccessor USE_COUNT = ReflectionUtils.getFieldAccessor(PerWorkingCopyInfo.class, "useCount");
+    private static final FieldAccessor AST_LEVEL = ReflectionUtils.getFieldAccessor(ASTHolderCUInfo.class, "astLevel");
+    private static final FieldAccessor RESOLVE_BINDINGS = ReflectionUtils.getFieldAccessor(ASTHolderCUInfo.class, "resolveBindings");
+    private static final FieldAccessor RECONCILE_FLAGS = ReflectionUtils.getFieldAccessor(ASTHolderCUInfo.class, "reconcileFlags");
+    private static final FieldAccessor PROBLEMS = ReflectionUtils.getFieldAccessor(ASTHolderCUInfo.class, "problems");
+    private static final FieldAccessor AST_HOLDER = ReflectionUtils.getFieldAccessor(ASTHolderCUInfo.class, "ast");
+    private static final FieldAccessor TIMESTAMP = ReflectionUtils.getFieldAccessor(CompilationUnitElementInfo.class, "timestamp");
+
     public GroovyCompilationUnit(PackageFragment parent, String name, WorkingCopyOwner owner) {
         super(parent, name, owner);
     }
@@ -124,6 +134,22 @@ public class GroovyCompilationUnit extends CompilationUnit {
             if (!isConsistent()) {
                 makeConsistent(null);
             }
+            if (force && !isWorkingCopy() && owner == DefaultWorkingCopyOwner.PRIMARY) {
+                final IResource resource = getResource();
+                if (resource != null && resource.exists()) {
+                    ModuleNodeInfo info = ClosedModuleNodeCache.getInstance().get(resource.getFullPath(),
+                        resource.getModificationStamp(), new ClosedModuleNodeCache.Loader() {
+                            public ModuleNodeInfo load() {
+                                return getTransientModuleInfo();
+                            }
+                        });
+                    if (info != null) {
+                        return info;
+                    }
+                    // the unit was made a working copy in the meantime; its module may contain unsaved changes, so it is
+                    // taken from the mapper below and kept out of the closed file cache
+                }
+            }
             boolean becameWorkingCopy = false;
             ModuleNodeMapper.getInstance().lock();
             // discard the working copy after finishing
@@ -153,6 +179,46 @@ public class GroovyCompilationUnit extends CompilationUnit {
         return null;
     }
 
+    /**
+     * Module info captured by {@link #maybeCacheModuleNode} while {@link #getTransientModuleInfo()} is building the structure
+     * of a unit on the current thread.
+     */
+    private static final ThreadLocal<Map<GroovyCompilationUnit, ModuleNodeInfo>> transientModuleInfos =
+        new ThreadLocal<Map<GroovyCompilationUnit, ModuleNodeInfo>>();
+
+    /**
+     * Creates the module info for a unit that is not a working copy by temporarily turning it into one. Unlike the working copy
+     * path of {@link #getModuleInfo(boolean)}, this does not hold the {@link ModuleNodeMapper} lock while parsing; the module
+     * node is captured directly from the structure build instead of being looked up in the mapper.
+     *
+     * @return the module info parsed from the file, or null if the structure was not rebuilt because the unit is a working copy
+     */
+    private ModuleNodeInfo getTransientModuleInfo() {
+        Map<GroovyCompilationUnit, ModuleNodeInfo> captured = transientModuleInfos.get();
+        boolean outermost = (captured == null);
+        if (outermost) {
+            captured = new HashMap<GroovyCompilationUnit, ModuleNodeInfo>();
+            transientModuleInfos.set(captured);
+        }
+        try {
+            captured.put(this, null);
+            becomeWorkingCopy(null);
+            try {
+                return captured.get(this);
+            } finally {
+                discardWorkingCopy();
+            }
+        } catch (JavaModelException e) {
+            Util.log(e, "Exception thrown when trying to get Groovy module node for " + this.getElementName());
+            return null;
+        } finally {
+            captured.remove(this);
+            if (outermost) {
+                transientModuleInfos.remove();
+            }
+        }
+    }
+
     /**
      * Gets the module node for this compilation unit. Bypasses the cached module node and creates a new one, which is then placed
      * in the cache
@@ -186,7 +252,7 @@ public class GroovyCompilationUnit extends CompilationUnit {
      */
     private boolean workingCopyInfoWillBeDiscarded(PerWorkingCopyInfo info) {
         return info != null
-                && ((Integer) ReflectionUtils.getPrivateField(PerWorkingCopyInfo.class, "useCount", info)).intValue() <= 1;
+                && USE_COUNT.getInt(info) <= 1;
     }
 
     /**
@@ -233,10 +299,10 @@ public class GroovyCompilationUnit extends CompilationUnit {
             HashMap<String, CategorizedProblem[]> problems;
             if (info instanceof ASTHolderCUInfo) {
                 ASTHolderCUInfo astHolder = (ASTHolderCUInfo) info;
-                createAST = ((Integer) ReflectionUtils.getPrivateField(ASTHolderCUInfo.class, "astLevel", astHolder)) != NO_AST;
-                resolveBindings = (Boolean) ReflectionUtils.getPrivateField(ASTHolderCUInfo.class, "resolveBindings", astHolder);
-                reconcileFlags = (Integer) ReflectionUtils.getPrivateField(ASTHolderCUInfo.class, "reconcileFlags", astHolder);
-                problems = HashMap.class.cast(ReflectionUtils.getPrivateField(ASTHolderCUInfo.class, "problems", astHolder));
+                createAST = AST_LEVEL.getInt(astHolder) != NO_AST;
+                resolveBindings = RESOLVE_BINDINGS.getBoolean(astHolder);
+                reconcileFlags = RECONCILE_FLAGS.getInt(astHolder);
+                problems = HashMap.class.cast(PROBLEMS.get(astHolder));
             } else {
                 createAST = false;
                 resolveBindings = false;
@@ -291,7 +357,7 @@ public class GroovyCompilationUnit extends CompilationUnit {
             }
             // underlying resource is null in the case of a working copy on a class file in a jar
             if (underlyingResource != null) {
-                ReflectionUtils.setPrivateField(CompilationUnitElementInfo.class, "timestamp", unitInfo, underlyingResource.getModificationStamp());
+                TIMESTAMP.setLong(unitInfo, underlyingResource.getModificationStamp());
             }
 
             GroovyCompilationUnitDeclaration compilationUnitDeclaration = null;
@@ -351,7 +417,7 @@ public class GroovyCompilationUnit extends CompilationUnit {
                     org.eclipse.jdt.core.dom.CompilationUnit ast;
                     try {
                         ast = AST.convertCompilationUnit(JavaConstants.AST_LEVEL, compilationUnitDeclaration, options, computeProblems, source, reconcileFlags, pm);
-                        ReflectionUtils.setPrivateField(ASTHolderCUInfo.class, "ast", info, ast);
+                        AST_HOLDER.set(info, ast);
                     } catch (OperationCanceledException e) {
                         // catch this exception so as to not enter the catch(RuntimeException e) below
                         // might need to do the same for AbortCompilation
@@ -400,6 +466,12 @@ public class GroovyCompilationUnit extends CompilationUnit {
      */
     protected void maybeCacheModuleNode(JavaModelManager.PerWorkingCopyInfo perWorkingCopyInfo,
             GroovyCompilationUnitDeclaration compilationUnitDeclaration) {
+        Map<GroovyCompilationUnit, ModuleNodeInfo> captured = transientModuleInfos.get();
+        if (captured != null && captured.containsKey(this)) {
+            captured.put(this, ModuleNodeMapper.createModuleNodeInfo(compilationUnitDeclaration));
+            // the working copy is discarded right away, so there is no need to go through the mapper
+            return;
+        }
         ModuleNodeMapper.getInstance().maybeCacheModuleNode(perWorkingCopyInfo, compilationUnitDeclaration);
     }
 
@@ -33,7 +33,6 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
-import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.JavaModelManager.PerWorkingCopyInfo;
@@ -60,6 +59,13 @@ public class ModuleNodeMapper {
         public CompilationResult result;
         public final JDTResolver resolver;
 
+        /**
+         * @return the source position index of the module; built on first request
+         */
+        public ModuleNodePositionIndex getPositionIndex() {
+            return module != null ? ModuleNodePositionIndex.get(module) : null;
+        }
+
         public final boolean isEmpty() {
             if (module == null || module.getClasses() == null || (module.getClasses().isEmpty() && module.getImports().isEmpty())) {
                 return true;
@@ -161,6 +167,22 @@ public class ModuleNodeMapper {
         }
     }
 
+    /**
+     * @return the module info for the given declaration or null if there is no module node
+     */
+    static ModuleNodeInfo createModuleNodeInfo(GroovyCompilationUnitDeclaration compilationUnitDeclaration) {
+        if (compilationUnitDeclaration == null || compilationUnitDeclaration.getModuleNode() == null) {
+            return null;
+        }
+        JDTResolver resolver = null;
+        if (shouldStoreResovler()) {
+            resolver = (JDTResolver) compilationUnitDeclaration.getCompilationUnit().getResolveVisitor();
+        }
+        ModuleNodeInfo info = new ModuleNodeInfo(compilationUnitDeclaration.getModuleNode(), resolver);
+        info.result = compilationUnitDeclaration.compilationResult();
+        return info;
+    }
+
     /**
      * Cache the module node if this is a working copy.
      */
@@ -170,17 +192,9 @@ public class ModuleNodeMapper {
 
         if (lock.tryLock()) {
             try {
-                if (perWorkingCopyInfo != null && compilationUnitDeclaration != null) {
-                    ModuleNode module = compilationUnitDeclaration.getModuleNode();
-                    if (module != null) {
-                        JDTResolver resolver = null;
-                        if (shouldStoreResovler()) {
-                            resolver = (JDTResolver) compilationUnitDeclaration.getCompilationUnit().getResolveVisitor();
-                        }
-
-                        ModuleNodeInfo info = new ModuleNodeInfo(module, resolver);
-                        info.result = compilationUnitDeclaration.compilationResult();
-
+                if (perWorkingCopyInfo != null) {
+                    ModuleNodeInfo info = createModuleNodeInfo(compilationUnitDeclaration);
+                    if (info != null) {
                         store(perWorkingCopyInfo, info);
                     }
                 }
@@ -218,7 +232,7 @@ public class ModuleNodeMapper {
 
             List<PerWorkingCopyInfo> toPurge = new ArrayList<PerWorkingCopyInfo>();
             for (PerWorkingCopyInfo info : infoToModuleMap.keySet()) {
-                int useCount = ((Integer) ReflectionUtils.getPrivateField(PerWorkingCopyInfo.class, "useCount", info)).intValue();
+                int useCount = GroovyCompilationUnit.USE_COUNT.getInt(info);
                 if (useCount <= 0) {
                     String message = "Bad module node map entry: " + info.getWorkingCopy().getElementName();
                     System.out.println(message);
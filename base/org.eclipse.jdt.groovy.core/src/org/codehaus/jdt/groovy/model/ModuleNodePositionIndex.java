@@ -0,0 +1,495 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.jdt.groovy.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.AnnotatedNode;
+import org.codehaus.groovy.ast.AnnotationNode;
+import org.codehaus.groovy.ast.ClassCodeVisitorSupport;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.FieldNode;
+import org.codehaus.groovy.ast.ImportNode;
+import org.codehaus.groovy.ast.ImportNodeCompatibilityWrapper;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.codehaus.groovy.ast.PropertyNode;
+import org.codehaus.groovy.ast.expr.ArgumentListExpression;
+import org.codehaus.groovy.ast.expr.ArrayExpression;
+import org.codehaus.groovy.ast.expr.AttributeExpression;
+import org.codehaus.groovy.ast.expr.BinaryExpression;
+import org.codehaus.groovy.ast.expr.BitwiseNegationExpression;
+import org.codehaus.groovy.ast.expr.BooleanExpression;
+import org.codehaus.groovy.ast.expr.CastExpression;
+import org.codehaus.groovy.ast.expr.ClassExpression;
+import org.codehaus.groovy.ast.expr.ClosureExpression;
+import org.codehaus.groovy.ast.expr.ClosureListExpression;
+import org.codehaus.groovy.ast.expr.ConstantExpression;
+import org.codehaus.groovy.ast.expr.ConstructorCallExpression;
+import org.codehaus.groovy.ast.expr.DeclarationExpression;
+import org.codehaus.groovy.ast.expr.ElvisOperatorExpression;
+import org.codehaus.groovy.ast.expr.FieldExpression;
+import org.codehaus.groovy.ast.expr.GStringExpression;
+import org.codehaus.groovy.ast.expr.ListExpression;
+import org.codehaus.groovy.ast.expr.MapEntryExpression;
+import org.codehaus.groovy.ast.expr.MapExpression;
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.codehaus.groovy.ast.expr.MethodPointerExpression;
+import org.codehaus.groovy.ast.expr.NotExpression;
+import org.codehaus.groovy.ast.expr.PostfixExpression;
+import org.codehaus.groovy.ast.expr.PrefixExpression;
+import org.codehaus.groovy.ast.expr.PropertyExpression;
+import org.codehaus.groovy.ast.expr.RangeExpression;
+import org.codehaus.groovy.ast.expr.SpreadExpression;
+import org.codehaus.groovy.ast.expr.SpreadMapExpression;
+import org.codehaus.groovy.ast.expr.StaticMethodCallExpression;
+import org.codehaus.groovy.ast.expr.TernaryExpression;
+import org.codehaus.groovy.ast.expr.TupleExpression;
+import org.codehaus.groovy.ast.expr.UnaryMinusExpression;
+import org.codehaus.groovy.ast.expr.UnaryPlusExpression;
+import org.codehaus.groovy.ast.expr.VariableExpression;
+import org.codehaus.groovy.ast.stmt.Statement;
+import org.codehaus.groovy.control.SourceUnit;
+
+/**
+ * An immutable index of the source ranges of the nodes in a {@link ModuleNode}. Answers node-at-offset, nodes-in-range and
+ * enclosing-node queries in logarithmic time (plus the size of the answer) instead of walking the whole module.
+ * <p>
+ * Nodes are kept in an array sorted by start offset (longer nodes first for equal starts) that is treated as an implicit
+ * balanced search tree, where every subtree root also records the greatest end offset found in its subtree. Only nodes with
+ * a source location are indexed.
+ * <p>
+ * The index is built on first request and shared for as long as the module node is alive. It reflects the module at the time
+ * it is built, so it should only be used for module nodes that are not modified afterwards, like the ones held by
+ * {@link ModuleNodeMapper.ModuleNodeInfo}.
+ */
+public class ModuleNodePositionIndex {
+
+    private static final Object KEY = ModuleNodePositionIndex.class;
+
+    /**
+     * @return the (possibly cached) index of the given module
+     */
+    public static ModuleNodePositionIndex get(ModuleNode module) {
+        // kept in the module's metadata since the index refers back to the module through its nodes
+        synchronized (module) {
+            ModuleNodePositionIndex index = (ModuleNodePositionIndex) module.getNodeMetaData(KEY);
+            if (index == null) {
+                index = new ModuleNodePositionIndex(module);
+                module.putNodeMetaData(KEY, index);
+            }
+            return index;
+        }
+    }
+
+    private final ASTNode[] nodes;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] maxEnds;
+
+    ModuleNodePositionIndex(ModuleNode module) {
+        NodeCollector collector = new NodeCollector();
+        collector.collect(module);
+        nodes = collector.nodes.toArray(new ASTNode[collector.nodes.size()]);
+        Arrays.sort(nodes, new Comparator<ASTNode>() {
+            public int compare(ASTNode a, ASTNode b) {
+                if (a.getStart() != b.getStart()) {
+                    return a.getStart() < b.getStart() ? -1 : 1;
+                }
+                return a.getEnd() > b.getEnd() ? -1 : (a.getEnd() == b.getEnd() ? 0 : 1);
+            }
+        });
+        starts = new int[nodes.length];
+        ends = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i += 1) {
+            starts[i] = nodes[i].getStart();
+            ends[i] = nodes[i].getEnd();
+        }
+        maxEnds = new int[nodes.length];
+        computeMaxEnds(0, nodes.length - 1);
+    }
+
+    private int computeMaxEnds(int lo, int hi) {
+        if (lo > hi) {
+            return -1;
+        }
+        int mid = (lo + hi) >>> 1;
+        int max = Math.max(ends[mid], Math.max(computeMaxEnds(lo, mid - 1), computeMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * @return the innermost node whose source range includes the offset, or {@code null} if there is none
+     */
+    public ASTNode findNodeAt(int offset) {
+        List<ASTNode> enclosing = findEnclosingNodes(offset, offset);
+        return enclosing.isEmpty() ? null : enclosing.get(enclosing.size() - 1);
+    }
+
+    /**
+     * @return the nodes whose source range includes [start, end], outermost first
+     */
+    public List<ASTNode> findEnclosingNodes(int start, int end) {
+        List<ASTNode> result = new ArrayList<ASTNode>();
+        collectOverlapping(0, nodes.length - 1, start, end, true, result);
+        return result;
+    }
+
+    /**
+     * @return the nodes whose source range overlaps [start, end], ordered by start offset
+     */
+    public List<ASTNode> findOverlappingNodes(int start, int end) {
+        List<ASTNode> result = new ArrayList<ASTNode>();
+        collectOverlapping(0, nodes.length - 1, start, end, false, result);
+        return result;
+    }
+
+    /**
+     * @return the nodes whose source range lies within [start, end], ordered by start offset
+     */
+    public List<ASTNode> findNodesInRange(int start, int end) {
+        int i = Arrays.binarySearch(starts, start);
+        if (i < 0) {
+            i = -(i + 1);
+        } else {
+            while (i > 0 && starts[i - 1] == start) {
+                i -= 1;
+            }
+        }
+        if (i >= nodes.length || starts[i] > end) {
+            return Collections.emptyList();
+        }
+        List<ASTNode> result = new ArrayList<ASTNode>();
+        for (; i < nodes.length && starts[i] <= end; i += 1) {
+            if (ends[i] <= end) {
+                result.add(nodes[i]);
+            }
+        }
+        return result;
+    }
+
+    private void collectOverlapping(int lo, int hi, int start, int end, boolean enclosing, List<ASTNode> result) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] < (enclosing ? end : start)) {
+            // nothing in this subtree reaches far enough
+            return;
+        }
+        collectOverlapping(lo, mid - 1, start, end, enclosing, result);
+        if (starts[mid] > start && (enclosing || starts[mid] > end)) {
+            // everything to the right starts too late
+            return;
+        }
+        if (enclosing ? ends[mid] >= end : ends[mid] >= start) {
+            result.add(nodes[mid]);
+        }
+        collectOverlapping(mid + 1, hi, start, end, enclosing, result);
+    }
+
+    //--------------------------------------------------------------------------
+
+    private static class NodeCollector extends ClassCodeVisitorSupport {
+
+        final List<ASTNode> nodes = new ArrayList<ASTNode>();
+        private final Map<ASTNode, Boolean> seen = new IdentityHashMap<ASTNode, Boolean>();
+
+        void collect(ModuleNode module) {
+            add(module.getPackage());
+            for (ImportNode importNode : new ImportNodeCompatibilityWrapper(module).getAllImportNodes()) {
+                add(importNode);
+                visitAnnotations(importNode);
+            }
+            for (ClassNode classNode : module.getClasses()) {
+                visitClass(classNode);
+            }
+        }
+
+        private void add(ASTNode node) {
+            if (node != null && node.getStart() >= 0 && node.getEnd() > 0 && node.getEnd() >= node.getStart() && seen.put(node, Boolean.TRUE) == null) {
+                nodes.add(node);
+            }
+        }
+
+        @Override
+        protected SourceUnit getSourceUnit() {
+            return null;
+        }
+
+        @Override
+        public void visitClass(ClassNode node) {
+            if (seen.containsKey(node)) {
+                return;
+            }
+            add(node);
+            visitAnnotations(node);
+            node.visitContents(this);
+            visitObjectInitializerStatements(node);
+        }
+
+        @Override
+        public void visitAnnotations(AnnotatedNode node) {
+            for (AnnotationNode annotation : node.getAnnotations()) {
+                add(annotation);
+            }
+            super.visitAnnotations(node);
+        }
+
+        @Override
+        protected void visitConstructorOrMethod(MethodNode node, boolean isConstructor) {
+            add(node);
+            for (Parameter param : node.getParameters()) {
+                add(param);
+            }
+            super.visitConstructorOrMethod(node, isConstructor);
+        }
+
+        @Override
+        public void visitField(FieldNode node) {
+            add(node);
+            super.visitField(node);
+        }
+
+        @Override
+        public void visitProperty(PropertyNode node) {
+            add(node);
+            super.visitProperty(node);
+        }
+
+        @Override
+        protected void visitStatement(Statement statement) {
+            add(statement);
+        }
+
+        @Override
+        public void visitMethodCallExpression(MethodCallExpression expression) {
+            add(expression);
+            super.visitMethodCallExpression(expression);
+        }
+
+        @Override
+        public void visitStaticMethodCallExpression(StaticMethodCallExpression expression) {
+            add(expression);
+            super.visitStaticMethodCallExpression(expression);
+        }
+
+        @Override
+        public void visitConstructorCallExpression(ConstructorCallExpression expression) {
+            add(expression);
+            super.visitConstructorCallExpression(expression);
+        }
+
+        @Override
+        public void visitTernaryExpression(TernaryExpression expression) {
+            add(expression);
+            super.visitTernaryExpression(expression);
+        }
+
+        @Override
+        public void visitShortTernaryExpression(ElvisOperatorExpression expression) {
+            add(expression);
+            super.visitShortTernaryExpression(expression);
+        }
+
+        @Override
+        public void visitBinaryExpression(BinaryExpression expression) {
+            add(expression);
+            super.visitBinaryExpression(expression);
+        }
+
+        @Override
+        public void visitPrefixExpression(PrefixExpression expression) {
+            add(expression);
+            super.visitPrefixExpression(expression);
+        }
+
+        @Override
+        public void visitPostfixExpression(PostfixExpression expression) {
+            add(expression);
+            super.visitPostfixExpression(expression);
+        }
+
+        @Override
+        public void visitBooleanExpression(BooleanExpression expression) {
+            add(expression);
+            super.visitBooleanExpression(expression);
+        }
+
+        @Override
+        public void visitClosureExpression(ClosureExpression expression) {
+            add(expression);
+            super.visitClosureExpression(expression);
+        }
+
+        @Override
+        public void visitTupleExpression(TupleExpression expression) {
+            add(expression);
+            super.visitTupleExpression(expression);
+        }
+
+        @Override
+        public void visitMapExpression(MapExpression expression) {
+            add(expression);
+            super.visitMapExpression(expression);
+        }
+
+        @Override
+        public void visitMapEntryExpression(MapEntryExpression expression) {
+            add(expression);
+            super.visitMapEntryExpression(expression);
+        }
+
+        @Override
+        public void visitListExpression(ListExpression expression) {
+            add(expression);
+            super.visitListExpression(expression);
+        }
+
+        @Override
+        public void visitRangeExpression(RangeExpression expression) {
+            add(expression);
+            super.visitRangeExpression(expression);
+        }
+
+        @Override
+        public void visitPropertyExpression(PropertyExpression expression) {
+            add(expression);
+            super.visitPropertyExpression(expression);
+        }
+
+        @Override
+        public void visitAttributeExpression(AttributeExpression expression) {
+            add(expression);
+            super.visitAttributeExpression(expression);
+        }
+
+        @Override
+        public void visitFieldExpression(FieldExpression expression) {
+            add(expression);
+            super.visitFieldExpression(expression);
+        }
+
+        @Override
+        public void visitMethodPointerExpression(MethodPointerExpression expression) {
+            add(expression);
+            super.visitMethodPointerExpression(expression);
+        }
+
+        @Override
+        public void visitConstantExpression(ConstantExpression expression) {
+            add(expression);
+            super.visitConstantExpression(expression);
+        }
+
+        @Override
+        public void visitClassExpression(ClassExpression expression) {
+            add(expression);
+            super.visitClassExpression(expression);
+        }
+
+        @Override
+        public void visitVariableExpression(VariableExpression expression) {
+            add(expression);
+            super.visitVariableExpression(expression);
+        }
+
+        @Override
+        public void visitDeclarationExpression(DeclarationExpression expression) {
+            add(expression);
+            super.visitDeclarationExpression(expression);
+        }
+
+        @Override
+        public void visitGStringExpression(GStringExpression expression) {
+            add(expression);
+            super.visitGStringExpression(expression);
+        }
+
+        @Override
+        public void visitArrayExpression(ArrayExpression expression) {
+            add(expression);
+            super.visitArrayExpression(expression);
+        }
+
+        @Override
+        public void visitSpreadExpression(SpreadExpression expression) {
+            add(expression);
+            super.visitSpreadExpression(expression);
+        }
+
+        @Override
+        public void visitSpreadMapExpression(SpreadMapExpression expression) {
+            add(expression);
+            super.visitSpreadMapExpression(expression);
+        }
+
+        @Override
+        public void visitNotExpression(NotExpression expression) {
+            add(expression);
+            super.visitNotExpression(expression);
+        }
+
+        @Override
+        public void visitUnaryMinusExpression(UnaryMinusExpression expression) {
+            add(expression);
+            super.visitUnaryMinusExpression(expression);
+        }
+
+        @Override
+        public void visitUnaryPlusExpression(UnaryPlusExpression expression) {
+            add(expression);
+            super.visitUnaryPlusExpression(expression);
+        }
+
+        @Override
+        public void visitBitwiseNegationExpression(BitwiseNegationExpression expression) {
+            add(expression);
+            super.visitBitwiseNegationExpression(expression);
+        }
+
+        @Override
+        public void visitCastExpression(CastExpression expression) {
+            add(expression);
+            super.visitCastExpression(expression);
+        }
+
+        @Override
+        public void visitArgumentlistExpression(ArgumentListExpression expression) {
+            add(expression);
+            super.visitArgumentlistExpression(expression);
+        }
+
+        @Override
+        public void visitClosureListExpression(ClosureListExpression expression) {
+            add(expression);
+            super.visitClosureListExpression(expression);
+        }
+    }
+}
@@ -15,13 +15,20 @@
  */
 package org.eclipse.jdt.groovy.core;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import org.codehaus.jdt.groovy.model.ClosedModuleNodeCache;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ProjectScope;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Plugin;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.eclipse.core.runtime.preferences.InstanceScope;
@@ -56,6 +63,12 @@ public class Activator extends Plugin {
 
     public static final String GROOVY_COMPILER_LEVEL = "groovy.compiler.level";
 
+    // files whose module nodes are loaded again in the background after a restart
+    private static final String MODULE_NODE_CACHE_FILE = "moduleNodeCache.txt";
+
+    // reloads the module nodes of the files in MODULE_NODE_CACHE_FILE; only scheduled when the workbench is running
+    private Job moduleNodeJob;
+
     public void start(BundleContext context) throws Exception {
         super.start(context);
         plugin = this;
@@ -63,10 +76,57 @@ public class Activator extends Plugin {
     }
 
     public void stop(BundleContext context) throws Exception {
+        Job job;
+        synchronized (this) {
+            job = moduleNodeJob; // left in place so that it cannot be scheduled again
+        }
+        if (job != null) {
+            job.cancel();
+            job.join();
+            try {
+                ClosedModuleNodeCache.getInstance().save(getModuleNodeCacheFile());
+            } catch (IOException e) {
+                Util.log(e, "Cannot write " + MODULE_NODE_CACHE_FILE);
+            }
+        }
         plugin = null;
         super.stop(context);
     }
 
+    /**
+     * Loads the module nodes of the closed files that were cached on the last shutdown again in the background, and saves the
+     * cached files again on this shutdown. Only editors and views ask for the module nodes of closed files, so this is left to
+     * the workbench; headless builds neither load nor overwrite the saved list.
+     */
+    public synchronized void scheduleModuleNodeReload() {
+        if (moduleNodeJob != null) {
+            return;
+        }
+        moduleNodeJob = new Job("Loading Groovy module nodes") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                try {
+                    ClosedModuleNodeCache.getInstance().warm(getModuleNodeCacheFile(), monitor);
+                } catch (IOException e) {
+                    Util.log(e, "Cannot read " + MODULE_NODE_CACHE_FILE);
+                } catch (RuntimeException e) {
+                    // the workspace may be shutting down; anything else is worth a log entry
+                    if (!monitor.isCanceled()) {
+                        Util.log(e, "Cannot load the module nodes listed in " + MODULE_NODE_CACHE_FILE);
+                    }
+                }
+                return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+            }
+        };
+        moduleNodeJob.setSystem(true);
+        moduleNodeJob.setPriority(Job.DECORATE);
+        moduleNodeJob.schedule(5000);
+    }
+
+    private File getModuleNodeCacheFile() {
+        return getStateLocation().append(MODULE_NODE_CACHE_FILE).toFile();
+    }
+
     public static Activator getDefault() {
         return plugin;
     }
@@ -18,8 +18,8 @@ package org.eclipse.jdt.groovy.core.util;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -67,33 +67,107 @@ public class ReflectionUtils {
     }
 
     public static Object getPrivateField(Class<?> clazz, String fieldName, Object target) {
-        String key = clazz.getCanonicalName() + fieldName;
-        Field field = FIELDS.get(key);
-        try {
-            if (field == null) {
+        return getFieldAccessor(clazz, fieldName).get(target);
+    }
+
+    public static void setPrivateField(Class<?> clazz, String fieldName, Object target, Object newValue) {
+        getFieldAccessor(clazz, fieldName).set(target, newValue);
+    }
+
+    /**
+     * Returns an accessor for a (typically private) field. The field is looked up and made accessible once per class and
+     * field name; callers on hot paths should keep the accessor in a static field rather than look it up by name each time.
+     * If the field cannot be found, the error is logged and the accessor reads {@code null}, {@code false} or {@code 0}.
+     */
+    public static FieldAccessor getFieldAccessor(Class<?> clazz, String fieldName) {
+        ConcurrentMap<String, FieldAccessor> accessors = FIELDS.get(clazz);
+        if (accessors == null) {
+            accessors = new ConcurrentHashMap<String, FieldAccessor>();
+            ConcurrentMap<String, FieldAccessor> existing = FIELDS.putIfAbsent(clazz, accessors);
+            if (existing != null) {
+                accessors = existing;
+            }
+        }
+        FieldAccessor accessor = accessors.get(fieldName);
+        if (accessor == null) {
+            Field field = null;
+            try {
                 field = clazz.getDeclaredField(fieldName);
                 field.setAccessible(true);
-                FIELDS.put(key, field);
+            } catch (Exception e) {
+                log("Error getting private field '" + fieldName + "' on class " + clazz, e);
             }
-            return field.get(target);
-        } catch (Exception e) {
-            log("Error getting private field '" + fieldName + "' on class " + clazz, e);
+            accessor = new FieldAccessor(clazz, fieldName, field);
+            accessors.put(fieldName, accessor);
         }
-        return null;
+        return accessor;
     }
 
-    public static void setPrivateField(Class<?> clazz, String fieldName, Object target, Object newValue) {
-        String key = clazz.getCanonicalName() + fieldName;
-        Field field = FIELDS.get(key);
-        try {
-            if (field == null) {
-                field = clazz.getDeclaredField(fieldName);
-                field.setAccessible(true);
-                FIELDS.put(key, field);
+    /**
+     * Reads and writes a single field that was resolved ahead of time. The primitive variants do not box.
+     */
+    public static final class FieldAccessor {
+        private final Class<?> clazz;
+        private final String fieldName;
+        private final Field field;
+
+        FieldAccessor(Class<?> clazz, String fieldName, Field field) {
+            this.clazz = clazz;
+            this.fieldName = fieldName;
+            this.field = field;
+        }
+
+        public Object get(Object target) {
+            if (field != null) {
+                try {
+                    return field.get(target);
+                } catch (Exception e) {
+                    log("Error getting private field '" + fieldName + "' on class " + clazz, e);
+                }
+            }
+            return null;
+        }
+
+        public boolean getBoolean(Object target) {
+            if (field != null) {
+                try {
+                    return field.getBoolean(target);
+                } catch (Exception e) {
+                    log("Error getting private field '" + fieldName + "' on class " + clazz, e);
+                }
+            }
+            return false;
+        }
+
+        public int getInt(Object target) {
+            if (field != null) {
+                try {
+                    return field.getInt(target);
+                } catch (Exception e) {
+                    log("Error getting private field '" + fieldName + "' on class " + clazz, e);
+                }
+            }
+            return 0;
+        }
+
+        public void set(Object target, Object newValue) {
+            if (field != null) {
+                try {
+                    field.set(target, newValue);
+                } catch (Exception e) {
+                    log("Error setting private field '" + fieldName + "' on class " + clazz, e);
+                }
+            }
+        }
+
+        public void setLong(Object target, long newValue) {
+            if (field != null) {
+                try {
+                    field.setLong(target, newValue);
+                } catch (Exception e) {
+                    log("Error setting private field '" + fieldName + "' on class " + clazz, e);
+                }
             }
-            field.set(target, newValue);
-        } catch (Exception e) {
-            log("Error setting private field '" + fieldName + "' on class " + clazz, e);
         }
     }
 
@@ -121,14 +195,17 @@ public class ReflectionUtils {
     }
 
     public static <T> Object throwableGetPrivateField(Class<? extends T> clazz, String fieldName, T target) throws Exception {
-        String key = clazz.getCanonicalName() + fieldName;
-        Field field = FIELDS.get(key);
-        if (field == null) {
-            field = clazz.getDeclaredField(fieldName);
-            field.setAccessible(true);
-            FIELDS.put(key, field);
+        ConcurrentMap<String, FieldAccessor> accessors = FIELDS.get(clazz);
+        FieldAccessor accessor = (accessors != null ? accessors.get(fieldName) : null);
+        if (accessor == null) {
+            // check first so that a missing field is reported to the caller rather than logged
+            clazz.getDeclaredField(fieldName);
+            accessor = getFieldAccessor(clazz, fieldName);
+        }
+        if (accessor.field == null) {
+            throw new NoSuchFieldException(fieldName);
         }
-        return field.get(target);
+        return accessor.field.get(target);
     }
 
     /**
@@ -174,5 +251,5 @@ public class ReflectionUtils {
 
     private static final Object[] NO_ARGS = new Object[0];
     private static final Class<?>[] NO_TYPES = new Class[0];
-    private static final Map<String, Field> FIELDS = new HashMap<String, Field>();
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<String, FieldAccessor>> FIELDS = new ConcurrentHashMap<Class<?>, ConcurrentMap<String, FieldAccessor>>();
 }
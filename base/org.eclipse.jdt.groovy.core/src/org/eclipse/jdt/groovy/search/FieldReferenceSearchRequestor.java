@@ -34,6 +34,7 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
 import org.eclipse.jdt.groovy.search.TypeLookupResult.TypeConfidence;
 import org.eclipse.jdt.internal.core.search.matching.FieldPattern;
 import org.eclipse.jdt.internal.core.search.matching.VariablePattern;
@@ -57,22 +58,28 @@ public class FieldReferenceSearchRequestor implements ITypeRequestor {
 
     private final Set<Position> acceptedPositions = new HashSet<Position>();
 
+    private static final FieldAccessor NAME = ReflectionUtils.getFieldAccessor(VariablePattern.class, "name");
+    private static final FieldAccessor DECLARING_SIMPLE_NAME = ReflectionUtils.getFieldAccessor(FieldPattern.class, "declaringSimpleName");
+    private static final FieldAccessor DECLARING_QUALIFICATION = ReflectionUtils.getFieldAccessor(FieldPattern.class, "declaringQualification");
+    private static final FieldAccessor READ_ACCESS = ReflectionUtils.getFieldAccessor(VariablePattern.class, "readAccess");
+    private static final FieldAccessor WRITE_ACCESS = ReflectionUtils.getFieldAccessor(VariablePattern.class, "writeAccess");
+    private static final FieldAccessor FIND_DECLARATIONS = ReflectionUtils.getFieldAccessor(VariablePattern.class, "findDeclarations");
+    private static final FieldAccessor FIND_REFERENCES = ReflectionUtils.getFieldAccessor(VariablePattern.class, "findReferences");
+
     public FieldReferenceSearchRequestor(FieldPattern pattern, SearchRequestor requestor, SearchParticipant participant) {
         this.requestor = requestor;
         this.participant = participant;
-        name = (char[]) ReflectionUtils.getPrivateField(VariablePattern.class, "name", pattern);
-        char[] arr = (char[]) ReflectionUtils.getPrivateField(FieldPattern.class, "declaringSimpleName", pattern);
+        name = (char[]) NAME.get(pattern);
+        char[] arr = (char[]) DECLARING_SIMPLE_NAME.get(pattern);
         String declaringSimpleName = arr == null ? "" : new String(arr);
-        arr = (char[]) ReflectionUtils.getPrivateField(FieldPattern.class, "declaringQualification", pattern);
+        arr = (char[]) DECLARING_QUALIFICATION.get(pattern);
         String declaringQualification = ((arr == null || arr.length == 0) ? "" : (new String(arr) + "."));
         declaringQualifiedName = declaringQualification + declaringSimpleName;
 
-        readAccess = ((Boolean) ReflectionUtils.getPrivateField(VariablePattern.class, "readAccess", pattern)).booleanValue();
-        writeAccess = ((Boolean) ReflectionUtils.getPrivateField(VariablePattern.class, "writeAccess", pattern)).booleanValue();
-        findDeclarations = ((Boolean) ReflectionUtils.getPrivateField(VariablePattern.class, "findDeclarations", pattern))
-                .booleanValue();
-        findReferences = ((Boolean) ReflectionUtils.getPrivateField(VariablePattern.class, "findReferences", pattern))
-                .booleanValue();
+        readAccess = READ_ACCESS.getBoolean(pattern);
+        writeAccess = WRITE_ACCESS.getBoolean(pattern);
+        findDeclarations = FIND_DECLARATIONS.getBoolean(pattern);
+        findReferences = FIND_REFERENCES.getBoolean(pattern);
     }
 
     public VisitStatus acceptASTNode(ASTNode node, TypeLookupResult result, IJavaElement enclosingElement) {
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.GenericsType;
+
+/**
+ * Remembers generics resolutions for the duration of a single inferencing pass, so that repeated member lookups on the same
+ * parameterized receiver (eg- <code>List&lt;Map&lt;String, Foo&gt;&gt;</code>) do not walk the type hierarchy and clone the
+ * member's type every time.
+ * <p>
+ * Mappers are shared between all lookups with the same receiver parameterization and declaring type; they are never modified
+ * after they have been gathered. Resolved member types are shared between all lookups of the same member on the same receiver
+ * parameterization, so callers must clone a resolved type before modifying it, just as they would a type from the AST.
+ * <p>
+ * A cache must not outlive the pass it was created for, since the types it refers to may change when the unit is reconciled.
+ */
+public class GenericsResolutionCache {
+
+    /** Receiver parameterizations nested more deeply than this are not cached */
+    private static final int MAX_KEY_DEPTH = 10;
+
+    private final Map<String, GenericsMapper> mappers = new HashMap<String, GenericsMapper>();
+
+    private final Map<ASTNode, Map<String, ClassNode>> resolvedTypes = new IdentityHashMap<ASTNode, Map<String, ClassNode>>();
+
+    /**
+     * Same as {@link GenericsMapper#gatherGenerics(ClassNode, ClassNode)}, but returns the existing mapper if the receiver
+     * parameterization and declaring type have been seen before.
+     */
+    public GenericsMapper gatherGenerics(ClassNode resolvedType, ClassNode declaringType) {
+        String key = getParameterizationKey(resolvedType);
+        if (key == null) {
+            return GenericsMapper.gatherGenerics(resolvedType, declaringType);
+        }
+        key = key + '@' + declaringType.getName();
+        GenericsMapper mapper = mappers.get(key);
+        if (mapper == null) {
+            mapper = GenericsMapper.gatherGenerics(resolvedType, declaringType);
+            mappers.put(key, mapper);
+        }
+        return mapper;
+    }
+
+    /**
+     * @return the type previously recorded for the member on a receiver with the same parameterization, or null
+     */
+    public ClassNode getResolvedType(ASTNode member, ClassNode resolvedType) {
+        Map<String, ClassNode> types = resolvedTypes.get(member);
+        if (types == null) {
+            return null;
+        }
+        String key = getParameterizationKey(resolvedType);
+        return key == null ? null : types.get(key);
+    }
+
+    public void putResolvedType(ASTNode member, ClassNode resolvedType, ClassNode type) {
+        String key = getParameterizationKey(resolvedType);
+        if (key == null) {
+            return;
+        }
+        Map<String, ClassNode> types = resolvedTypes.get(member);
+        if (types == null) {
+            types = new HashMap<String, ClassNode>(4);
+            resolvedTypes.put(member, types);
+        }
+        types.put(key, type);
+    }
+
+    /**
+     * Describes a type together with everything about its type arguments that generics resolution depends on: names,
+     * placeholders, wildcards and bounds.
+     *
+     * @return the key, or null if the type is nested too deeply to be described
+     */
+    static String getParameterizationKey(ClassNode type) {
+        StringBuilder sb = new StringBuilder();
+        return appendKey(type, sb, 0) ? sb.toString() : null;
+    }
+
+    private static boolean appendKey(ClassNode type, StringBuilder sb, int depth) {
+        if (depth > MAX_KEY_DEPTH) {
+            return false;
+        }
+        sb.append(type.getName());
+        GenericsType[] gts = type.getGenericsTypes();
+        if (gts == null) {
+            return true;
+        }
+        sb.append('<');
+        for (GenericsType gt : gts) {
+            sb.append(gt.getName());
+            if (gt.isPlaceholder()) {
+                sb.append('#');
+            }
+            if (gt.isWildcard()) {
+                sb.append('?');
+            }
+            sb.append('=');
+            if (!appendKey(gt.getType(), sb, depth + 1)) {
+                return false;
+            }
+            ClassNode[] upper = gt.getUpperBounds();
+            if (upper != null) {
+                for (ClassNode bound : upper) {
+                    sb.append('+');
+                    if (!appendKey(bound, sb, depth + 1)) {
+                        return false;
+                    }
+                }
+            }
+            ClassNode lower = gt.getLowerBound();
+            if (lower != null) {
+                sb.append('-');
+                if (!appendKey(lower, sb, depth + 1)) {
+                    return false;
+                }
+            }
+            sb.append(',');
+        }
+        sb.append('>');
+        return true;
+    }
+}
@@ -40,6 +40,7 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
 import org.eclipse.jdt.groovy.search.TypeLookupResult.TypeConfidence;
 import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
 import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
@@ -68,17 +69,23 @@ public class MethodReferenceSearchRequestor implements ITypeRequestor {
     protected final int declaredParameterCount;
     protected final Set<Position> acceptedPositions = new HashSet<Position>();
 
+    private static final FieldAccessor SELECTOR = ReflectionUtils.getFieldAccessor(MethodPattern.class, "selector");
+    private static final FieldAccessor DECLARING_SIMPLE_NAME = ReflectionUtils.getFieldAccessor(MethodPattern.class, "declaringSimpleName");
+    private static final FieldAccessor DECLARING_QUALIFICATION = ReflectionUtils.getFieldAccessor(MethodPattern.class, "declaringQualification");
+    private static final FieldAccessor FIND_DECLARATIONS = ReflectionUtils.getFieldAccessor(MethodPattern.class, "findDeclarations");
+    private static final FieldAccessor FIND_REFERENCES = ReflectionUtils.getFieldAccessor(MethodPattern.class, "findReferences");
+
     public MethodReferenceSearchRequestor(MethodPattern pattern, SearchRequestor requestor, SearchParticipant participant) {
         this.requestor = requestor;
         this.participant = participant;
-        name = (char[]) ReflectionUtils.getPrivateField(MethodPattern.class, "selector", pattern);
-        char[] arr = (char[]) ReflectionUtils.getPrivateField(MethodPattern.class, "declaringSimpleName", pattern);
+        name = (char[]) SELECTOR.get(pattern);
+        char[] arr = (char[]) DECLARING_SIMPLE_NAME.get(pattern);
         String declaringSimpleName = arr == null ? "" : new String(arr);
-        arr = (char[]) ReflectionUtils.getPrivateField(MethodPattern.class, "declaringQualification", pattern);
+        arr = (char[]) DECLARING_QUALIFICATION.get(pattern);
         String declaringQualification = ((arr == null || arr.length == 0) ? "" : (new String(arr) + "."));
         declaringQualifiedName = declaringQualification + declaringSimpleName;
-        findDeclarations = ((Boolean) ReflectionUtils.getPrivateField(MethodPattern.class, "findDeclarations", pattern)).booleanValue();
-        findReferences = ((Boolean) ReflectionUtils.getPrivateField(MethodPattern.class, "findReferences", pattern)).booleanValue();
+        findDeclarations = FIND_DECLARATIONS.getBoolean(pattern);
+        findReferences = FIND_REFERENCES.getBoolean(pattern);
 
         parameterQualifications = pattern.parameterQualifications;
         parameterSimpleNames = pattern.parameterSimpleNames;
@@ -22,7 +22,6 @@ import static org.eclipse.jdt.groovy.search.VariableScope.NO_GENERICS;
 
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 
 import groovyjarjarasm.asm.Opcodes;
@@ -38,6 +37,7 @@ import org.codehaus.groovy.ast.GenericsType;
 import org.codehaus.groovy.ast.ImportNode;
 import org.codehaus.groovy.ast.InnerClassNode;
 import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.ast.Parameter;
 import org.codehaus.groovy.ast.PropertyNode;
 import org.codehaus.groovy.ast.Variable;
@@ -68,8 +68,15 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
 
     private GroovyCompilationUnit unit;
 
+    private GenericsResolutionCache genericsCache;
+
+    private TypeHierarchyCache hierarchyCache;
+
     public void initialize(GroovyCompilationUnit unit, VariableScope topLevelScope) {
         this.unit = unit;
+        this.genericsCache = new GenericsResolutionCache();
+        ModuleNode module = topLevelScope.getEnclosingModuleNode();
+        this.hierarchyCache = module != null ? TypeHierarchyCache.get(module) : new TypeHierarchyCache();
     }
 
     public TypeLookupResult lookupType(Expression node, VariableScope scope, ClassNode objectExpressionType) {
@@ -344,7 +351,7 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
         }
 
         if (declaration != null) {
-            type = typeFromDeclaration(declaration, declaringType);
+            type = typeFromDeclaration(declaration, declaringType, genericsCache);
             realDeclaringType = declaringTypeFromDeclaration(declaration, declaringType);
         } else if ("this".equals(name)) {
             // Fix for 'this' as property of ClassName
@@ -445,7 +452,7 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
             declaringType = getMorePreciseType(declaringType, variableInfo);
             newConfidence = TypeConfidence.findLessPrecise(confidence, INFERRED);
         } else if (accessedVar instanceof DynamicVariable) {
-            type = typeFromDeclaration(decl, declaringType);
+            type = typeFromDeclaration(decl, declaringType, genericsCache);
         }
 
         return new TypeLookupResult(type, declaringType, decl, newConfidence, scope);
@@ -486,6 +493,26 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
      * @return class node with generics replaced by actual types
      */
     static ClassNode typeFromDeclaration(ASTNode declaration, ClassNode resolvedType) {
+        return typeFromDeclaration(declaration, resolvedType, null);
+    }
+
+    /**
+     * @param cache remembers resolutions from earlier lookups in the same inferencing pass; may be null
+     */
+    static ClassNode typeFromDeclaration(ASTNode declaration, ClassNode resolvedType, GenericsResolutionCache cache) {
+        // the types of expressions can change during inferencing, so only member declarations are memoized
+        if (cache != null && !(declaration instanceof Expression)) {
+            ClassNode type = cache.getResolvedType(declaration, resolvedType);
+            if (type == null) {
+                type = resolveTypeFromDeclaration(declaration, resolvedType, cache);
+                cache.putResolvedType(declaration, resolvedType, type);
+            }
+            return type;
+        }
+        return resolveTypeFromDeclaration(declaration, resolvedType, cache);
+    }
+
+    private static ClassNode resolveTypeFromDeclaration(ASTNode declaration, ClassNode resolvedType, GenericsResolutionCache cache) {
         ClassNode typeOfDeclaration, declaringType = declaringTypeFromDeclaration(declaration, resolvedType);
         if (declaration instanceof PropertyNode) {
             FieldNode field = ((PropertyNode) declaration).getField();
@@ -513,7 +540,8 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
         // now try to resolve generics
         // travel up the hierarchy and look for more generics
         // also look for generics on methods...(not doing this yet...)
-        GenericsMapper mapper = GenericsMapper.gatherGenerics(resolvedType, declaringType.redirect());
+        GenericsMapper mapper = cache != null ? cache.gatherGenerics(resolvedType, declaringType.redirect())
+                : GenericsMapper.gatherGenerics(resolvedType, declaringType.redirect());
         ClassNode resolvedTypeOfDeclaration = VariableScope.resolveTypeParameterization(mapper,
                 VariableScope.clone(typeOfDeclaration));
         return resolvedTypeOfDeclaration;
@@ -557,14 +585,9 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
             }
         }
 
-        LinkedHashSet<ClassNode> typeHierarchy = new LinkedHashSet<ClassNode>();
-        VariableScope.createTypeHierarchy(declaringType, typeHierarchy, true);
-
-        for (ClassNode type : typeHierarchy) {
-            PropertyNode property = type.getProperty(name);
-            if (property != null) {
-                return property;
-            }
+        PropertyNode property = hierarchyCache.findProperty(declaringType, name);
+        if (property != null) {
+            return property;
         }
 
         // TODO: Limit searching to just get/is or set?
@@ -578,16 +601,10 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
             return field;
         }
 
-        typeHierarchy.clear();
-        VariableScope.findAllInterfaces(declaringType, typeHierarchy, true);
-
         // look for constant in interfaces
-        for (ClassNode type : typeHierarchy) {
-            if (type == declaringType) continue;
-            field = type.getField(name);
-            if (field != null && field.isFinal() && field.isStatic()) {
-                return field;
-            }
+        field = hierarchyCache.findInterfaceConstant(declaringType, name);
+        if (field != null) {
+            return field;
         }
 
         if (accessor != null) {
@@ -614,10 +631,8 @@ public class SimpleTypeLookup implements ITypeLookupExtension {
         // do this piece first since findAllInterfaces will return the current interface as well and this will avoid running this
         // method on the same interface twice.
         if (checkSuperInterfaces && declaringType.isInterface()) {
-            LinkedHashSet<ClassNode> allInterfaces = new LinkedHashSet<ClassNode>();
-            VariableScope.findAllInterfaces(declaringType, allInterfaces, true);
             AnnotatedNode candidate = null;
-            interfacesSearch: for (ClassNode interf : allInterfaces) {
+            interfacesSearch: for (ClassNode interf : hierarchyCache.getAllInterfaces(declaringType)) {
                 AnnotatedNode methodDeclaration = findMethodDeclaration(name, interf, methodCallArgumentTypes, false);
 
                 if (candidate == null) {
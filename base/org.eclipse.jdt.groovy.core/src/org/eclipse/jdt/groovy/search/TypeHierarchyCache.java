@@ -0,0 +1,150 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.groovy.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.FieldNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.ast.PropertyNode;
+
+/**
+ * Remembers the resolved type hierarchies of the declaring types of member lookups, as built by
+ * {@link VariableScope#createTypeHierarchy} and {@link VariableScope#findAllInterfaces}, together with an index of the
+ * properties of each hierarchy and of the constants of each set of interfaces. Deep hierarchies are otherwise walked again for
+ * every property or method reference.
+ * <p>
+ * Resolved super types only depend on the redirect of a type, so hierarchies are kept per redirect and start with it instead
+ * of the (possibly parameterized) type that was asked for.
+ * <p>
+ * A cache is kept in the metadata of a module node, so it is dropped together with the module node when the unit is
+ * reconciled again; it must only be used for types seen from that module.
+ */
+public class TypeHierarchyCache {
+
+    private static final Object KEY = TypeHierarchyCache.class;
+
+    /**
+     * @return the cache of the given module, created on first request
+     */
+    public static TypeHierarchyCache get(ModuleNode module) {
+        synchronized (module) {
+            TypeHierarchyCache cache = (TypeHierarchyCache) module.getNodeMetaData(KEY);
+            if (cache == null) {
+                cache = new TypeHierarchyCache();
+                module.putNodeMetaData(KEY, cache);
+            }
+            return cache;
+        }
+    }
+
+    private static class Hierarchy {
+        final List<ClassNode> types;
+        Map<String, PropertyNode> properties;
+        Map<String, FieldNode> constants;
+
+        Hierarchy(LinkedHashSet<ClassNode> types) {
+            this.types = new ArrayList<ClassNode>(types);
+        }
+    }
+
+    private final Map<ClassNode, Hierarchy> hierarchies = new IdentityHashMap<ClassNode, Hierarchy>();
+
+    private final Map<ClassNode, Hierarchy> interfaces = new IdentityHashMap<ClassNode, Hierarchy>();
+
+    /**
+     * @return the type and its super classes, then the interfaces; see {@link VariableScope#createTypeHierarchy}
+     */
+    public List<ClassNode> getTypeHierarchy(ClassNode type) {
+        return getHierarchy(type).types;
+    }
+
+    /**
+     * @return the interfaces of the type, including itself if it is one; see {@link VariableScope#findAllInterfaces}
+     */
+    public List<ClassNode> getAllInterfaces(ClassNode type) {
+        return getInterfaces(type).types;
+    }
+
+    /**
+     * @return the first property with the given name in the type hierarchy, or null
+     */
+    public synchronized PropertyNode findProperty(ClassNode type, String name) {
+        Hierarchy hierarchy = getHierarchy(type);
+        if (hierarchy.properties == null) {
+            hierarchy.properties = new HashMap<String, PropertyNode>();
+            for (ClassNode t : hierarchy.types) {
+                for (PropertyNode property : t.getProperties()) {
+                    if (!hierarchy.properties.containsKey(property.getName())) {
+                        hierarchy.properties.put(property.getName(), property);
+                    }
+                }
+            }
+        }
+        return hierarchy.properties.get(name);
+    }
+
+    /**
+     * @return the first static final field with the given name in the interfaces of the type, not counting the type itself, or
+     *         null
+     */
+    public synchronized FieldNode findInterfaceConstant(ClassNode type, String name) {
+        Hierarchy hierarchy = getInterfaces(type);
+        if (hierarchy.constants == null) {
+            hierarchy.constants = new HashMap<String, FieldNode>();
+            ClassNode self = type.redirect();
+            for (ClassNode t : hierarchy.types) {
+                if (t == self) continue;
+                for (FieldNode field : t.getFields()) {
+                    if (field.isFinal() && field.isStatic() && !hierarchy.constants.containsKey(field.getName())) {
+                        hierarchy.constants.put(field.getName(), field);
+                    }
+                }
+            }
+        }
+        return hierarchy.constants.get(name);
+    }
+
+    private synchronized Hierarchy getHierarchy(ClassNode type) {
+        ClassNode key = type.redirect();
+        Hierarchy hierarchy = hierarchies.get(key);
+        if (hierarchy == null) {
+            LinkedHashSet<ClassNode> types = new LinkedHashSet<ClassNode>();
+            VariableScope.createTypeHierarchy(key, types, true);
+            hierarchy = new Hierarchy(types);
+            hierarchies.put(key, hierarchy);
+        }
+        return hierarchy;
+    }
+
+    private synchronized Hierarchy getInterfaces(ClassNode type) {
+        ClassNode key = type.redirect();
+        Hierarchy hierarchy = interfaces.get(key);
+        if (hierarchy == null) {
+            LinkedHashSet<ClassNode> types = new LinkedHashSet<ClassNode>();
+            VariableScope.findAllInterfaces(key, types, true);
+            hierarchy = new Hierarchy(types);
+            interfaces.put(key, hierarchy);
+        }
+        return hierarchy;
+    }
+}
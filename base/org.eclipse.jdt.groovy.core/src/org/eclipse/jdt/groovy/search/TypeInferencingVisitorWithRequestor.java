@@ -101,6 +101,8 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.groovy.core.util.GroovyUtils;
@@ -253,6 +255,11 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 
     private final GroovyCompilationUnit unit;
 
+    /**
+     * When non-negative, the visit is restricted to types and members whose source range overlaps [visitStart, visitEnd].
+     */
+    private int visitStart = -1, visitEnd = -1;
+
     private final Stack<VariableScope> scopes;
 
     // we are going to have to be very careful about the ordering of lookups
@@ -325,6 +332,22 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
         dependentDeclarationStack = new Stack<Tuple>();
     }
 
+    /**
+     * Visits only the types and members that enclose the given source range. Imports and the enclosing types are still visited
+     * so that the variable scopes are seeded as they would be for a full visit, but sibling members are skipped entirely. This
+     * is meant for requestors that are looking for a single node, such as code select.
+     */
+    public void visitCompilationUnit(ITypeRequestor requestor, int start, int end) {
+        visitStart = start;
+        visitEnd = end;
+        try {
+            visitCompilationUnit(requestor);
+        } finally {
+            visitStart = -1;
+            visitEnd = -1;
+        }
+    }
+
     public void visitCompilationUnit(ITypeRequestor requestor) {
         if (enclosingDeclarationNode == null) {
             // no module node, can't do anything
@@ -349,7 +372,9 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
             try {
                 IType[] types = unit.getTypes();
                 for (IType type : types) {
-                    visitJDT(type, requestor);
+                    if (isInVisitRange(type)) {
+                        visitJDT(type, requestor);
+                    }
                 }
             } catch (JavaModelException e) {
                 Util.log(e, "Error getting types for " + unit.getElementName());
@@ -392,6 +417,9 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
                     if (type.isEnum() && shouldFilterEnumMember(child)) {
                         continue;
                     }
+                    if (!isInVisitRange(child)) {
+                        continue;
+                    }
                     switch (child.getElementType()) {
                         case IJavaElement.METHOD:
                             visitJDT((IMethod) child, requestor);
@@ -448,6 +476,20 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
         }
     }
 
+    /**
+     * @return {@code false} if the visit is restricted to a source range and the element lies outside of it
+     */
+    private boolean isInVisitRange(IJavaElement element) throws JavaModelException {
+        if (visitStart < 0 || !(element instanceof ISourceReference)) {
+            return true;
+        }
+        ISourceRange range = ((ISourceReference) element).getSourceRange();
+        if (range == null || range.getOffset() < 0 || range.getLength() <= 0) {
+            return true;
+        }
+        return range.getOffset() <= visitEnd && range.getOffset() + range.getLength() >= visitStart;
+    }
+
     private ConstructorNode findDefaultConstructor(ClassNode node) {
         List<ConstructorNode> constructors = node.getDeclaredConstructors();
         for (ConstructorNode constructor : constructors) {
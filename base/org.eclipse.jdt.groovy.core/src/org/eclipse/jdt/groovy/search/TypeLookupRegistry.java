@@ -19,18 +19,30 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExecutableExtension;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IRegistryEventListener;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * Manages type lookups
  *
+ * The lookup factories that apply to a project are resolved once and cached until the natures of the project or the contributions
+ * to the type lookup extension point change. Lookups themselves carry per-visit state, so a fresh instance is still created for
+ * each visitor, but after the first instantiation this is a plain constructor call.
+ *
  * @author Andrew Eisenberg
  * @created Nov 17, 2009
  */
@@ -49,60 +61,149 @@ public class TypeLookupRegistry {
         return DEFAULT;
     }
 
-    // maps from project nature to lists of type lookup classes
-    private Map<String, List<IConfigurationElement>> natureLookupMap = new HashMap<String, List<IConfigurationElement>>();
+    /**
+     * Creates instances of a single contributed type lookup. The first instance is created through the extension registry and
+     * its class is remembered so that subsequent instances avoid the configuration element altogether. Lookups that are
+     * initialized by the registry (ie- that implement {@link IExecutableExtension} or are contributed as "class:parameter")
+     * always go through the extension registry.
+     */
+    private static class LookupFactory {
+        private final IConfigurationElement config;
+
+        private volatile Class<? extends ITypeLookup> lookupClass;
+
+        LookupFactory(IConfigurationElement config) {
+            this.config = config;
+        }
+
+        ITypeLookup create() throws CoreException {
+            Class<? extends ITypeLookup> clazz = lookupClass;
+            if (clazz != null) {
+                try {
+                    return clazz.newInstance();
+                } catch (Exception e) {
+                    // fall back to the extension registry below
+                }
+            }
+            ITypeLookup lookup = (ITypeLookup) config.createExecutableExtension(LOOKUP);
+            if (!(lookup instanceof IExecutableExtension) && getName().indexOf(':') < 0) {
+                lookupClass = lookup.getClass();
+            }
+            return lookup;
+        }
+
+        String getName() {
+            return config.getAttribute(LOOKUP);
+        }
+    }
+
+    private static final LookupFactory[] NO_FACTORIES = new LookupFactory[0];
+
+    // maps from project nature to lists of type lookup factories
+    private volatile Map<String, List<LookupFactory>> natureLookupMap;
+
+    // maps from project to the lookup factories that apply to its natures
+    private final Map<IProject, LookupFactory[]> projectLookupCache = new ConcurrentHashMap<IProject, LookupFactory[]>();
 
     List<ITypeLookup> getLookupsFor(IProject project) throws CoreException {
         if (!project.exists()) {
             return new ArrayList<ITypeLookup>(3);
         }
-        String[] natures = project.getDescription().getNatureIds();
-        List<ITypeLookup> lookups = new ArrayList<ITypeLookup>();
-        for (String nature : natures) {
-            List<IConfigurationElement> configs = natureLookupMap.get(nature);
-            if (configs != null) {
-                for (IConfigurationElement config : configs) {
-                    try {
-                        lookups.add((ITypeLookup) config.createExecutableExtension(LOOKUP));
-                    } catch (CoreException e) {
-                        Util.log(e, "Problem creating lookup for type " + config.getAttribute(LOOKUP));
-                    }
-                }
+        LookupFactory[] factories = projectLookupCache.get(project);
+        if (factories == null) {
+            factories = findFactoriesFor(project);
+            projectLookupCache.put(project, factories);
+        }
+        List<ITypeLookup> lookups = new ArrayList<ITypeLookup>(factories.length + 2);
+        for (LookupFactory factory : factories) {
+            try {
+                lookups.add(factory.create());
+            } catch (CoreException e) {
+                Util.log(e, "Problem creating lookup for type " + factory.getName());
             }
         }
         return lookups;
     }
 
+    private LookupFactory[] findFactoriesFor(IProject project) throws CoreException {
+        Map<String, List<LookupFactory>> lookupMap = natureLookupMap;
+        List<LookupFactory> factories = new ArrayList<LookupFactory>();
+        for (String nature : project.getDescription().getNatureIds()) {
+            List<LookupFactory> natureFactories = lookupMap.get(nature);
+            if (natureFactories != null) {
+                factories.addAll(natureFactories);
+            }
+        }
+        return factories.isEmpty() ? NO_FACTORIES : factories.toArray(new LookupFactory[factories.size()]);
+    }
+
     private TypeLookupRegistry() {
         initialize();
+        Platform.getExtensionRegistry().addListener(new IRegistryEventListener() {
+            public void added(IExtension[] extensions) {
+                reset();
+            }
+            public void removed(IExtension[] extensions) {
+                reset();
+            }
+            public void added(IExtensionPoint[] extensionPoints) {
+            }
+            public void removed(IExtensionPoint[] extensionPoints) {
+            }
+        }, TYPE_LOOKUP_EXTENSION);
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(new IResourceChangeListener() {
+            public void resourceChanged(IResourceChangeEvent event) {
+                if (event.getType() != IResourceChangeEvent.POST_CHANGE) {
+                    IResource resource = event.getResource();
+                    if (resource instanceof IProject) {
+                        projectLookupCache.remove(resource);
+                    }
+                } else if (event.getDelta() != null && !projectLookupCache.isEmpty()) {
+                    for (IResourceDelta delta : event.getDelta().getAffectedChildren()) {
+                        if (delta.getKind() != IResourceDelta.CHANGED
+                                || (delta.getFlags() & (IResourceDelta.DESCRIPTION | IResourceDelta.OPEN)) != 0) {
+                            projectLookupCache.remove(delta.getResource());
+                        }
+                    }
+                }
+            }
+        }, IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+    }
+
+    private void reset() {
+        initialize();
+        projectLookupCache.clear();
     }
 
     private void initialize() {
+        Map<String, List<LookupFactory>> lookupMap = new HashMap<String, List<LookupFactory>>();
         IExtensionPoint extPoint = Platform.getExtensionRegistry().getExtensionPoint(TYPE_LOOKUP_EXTENSION);
         IExtension[] exts = extPoint.getExtensions();
         for (IExtension ext : exts) {
             IConfigurationElement[] configs = ext.getConfigurationElements();
             for (IConfigurationElement config : configs) {
-                createLookup(config);
+                createLookup(config, lookupMap);
             }
         }
+        natureLookupMap = lookupMap;
     }
 
-    private void createLookup(IConfigurationElement config) {
+    private void createLookup(IConfigurationElement config, Map<String, List<LookupFactory>> lookupMap) {
         try {
             if (config.getName().equals(LOOKUP)) {
                 if (config.getAttribute(LOOKUP) != null) {
+                    LookupFactory factory = new LookupFactory(config);
                     IConfigurationElement[] appliesTos = config.getChildren(APPLIES_TO);
                     for (IConfigurationElement appliesTo : appliesTos) {
                         String nature = appliesTo.getAttribute(NATURE);
-                        List<IConfigurationElement> elts;
-                        if (natureLookupMap.containsKey(nature)) {
-                            elts = natureLookupMap.get(nature);
+                        List<LookupFactory> elts;
+                        if (lookupMap.containsKey(nature)) {
+                            elts = lookupMap.get(nature);
                         } else {
-                            elts = new ArrayList<IConfigurationElement>(3);
-                            natureLookupMap.put(nature, elts);
+                            elts = new ArrayList<LookupFactory>(3);
+                            lookupMap.put(nature, elts);
                         }
-                        elts.add(config);
+                        elts.add(factory);
                     }
                 } else {
                     Util.log(new RuntimeException(), "Type lookup registry extension found with no type lookup class.");
@@ -35,6 +35,7 @@ import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.core.search.TypeReferenceMatch;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
 import org.eclipse.jdt.groovy.search.TypeLookupResult.TypeConfidence;
 import org.eclipse.jdt.internal.core.CompilationUnit;
 import org.eclipse.jdt.internal.core.search.matching.DeclarationOfReferencedTypesPattern;
@@ -62,16 +63,17 @@ public class TypeReferenceSearchRequestor implements ITypeRequestor {
     private final Set<Position> acceptedPositions = new HashSet<Position>();
     private char[] cachedContents;
 
+    private static final FieldAccessor IS_CASE_SENSITIVE = ReflectionUtils.getFieldAccessor(JavaSearchPattern.class, "isCaseSensitive");
+    private static final FieldAccessor IS_CAMEL_CASE = ReflectionUtils.getFieldAccessor(JavaSearchPattern.class, "isCamelCase");
+
     public TypeReferenceSearchRequestor(TypeReferencePattern pattern, SearchRequestor requestor, SearchParticipant participant) {
         this.requestor = requestor;
         this.participant = participant;
-        this.isCaseSensitive = ((Boolean) ReflectionUtils.getPrivateField(JavaSearchPattern.class, "isCaseSensitive", pattern))
-                .booleanValue();
+        this.isCaseSensitive = IS_CASE_SENSITIVE.getBoolean(pattern);
 
         this.namePattern = extractArray(pattern, "simpleName");
         this.qualificationPattern = extractArray(pattern, "qualification");
-        this.isCamelCase = ((Boolean) ReflectionUtils.getPrivateField(JavaSearchPattern.class, "isCamelCase", pattern))
-                .booleanValue();
+        this.isCamelCase = IS_CAMEL_CASE.getBoolean(pattern);
 
         this.findDeclaration = pattern instanceof DeclarationOfReferencedTypesPattern;
     }
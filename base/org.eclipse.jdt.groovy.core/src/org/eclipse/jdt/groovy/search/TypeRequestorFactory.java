@@ -23,6 +23,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
 import org.eclipse.jdt.internal.core.search.matching.ConstructorPattern;
 import org.eclipse.jdt.internal.core.search.matching.FieldPattern;
 import org.eclipse.jdt.internal.core.search.matching.LocalVariablePattern;
@@ -39,6 +40,9 @@ import org.eclipse.jdt.internal.core.util.Util;
  */
 public class TypeRequestorFactory {
 
+    private static final FieldAccessor LOCAL_VARIABLE = ReflectionUtils.getFieldAccessor(LocalVariablePattern.class, "localVariable");
+    private static final FieldAccessor PATTERNS = ReflectionUtils.getFieldAccessor(OrPattern.class, "patterns");
+
     public ITypeRequestor createRequestor(PossibleMatch possibleMatch, SearchPattern pattern, SearchRequestor requestor) {
         if (pattern instanceof TypeReferencePattern) {
             return new TypeReferenceSearchRequestor((TypeReferencePattern) pattern, requestor,
@@ -51,8 +55,7 @@ public class TypeRequestorFactory {
         } else if (pattern instanceof MethodPattern) {
             return new MethodReferenceSearchRequestor((MethodPattern) pattern, requestor, possibleMatch.document.getParticipant());
         } else if (pattern instanceof LocalVariablePattern) {
-            ILocalVariable localVar = (ILocalVariable) ReflectionUtils.getPrivateField(LocalVariablePattern.class, "localVariable",
-                    pattern);
+            ILocalVariable localVar = (ILocalVariable) LOCAL_VARIABLE.get(pattern);
             int start;
             try {
                 start = localVar.getSourceRange().getOffset();
@@ -84,6 +87,6 @@ public class TypeRequestorFactory {
     }
 
     private SearchPattern[] getPatterns(OrPattern pattern) {
-        return (SearchPattern[]) ReflectionUtils.getPrivateField(OrPattern.class, "patterns", pattern);
+        return (SearchPattern[]) PATTERNS.get(pattern);
     }
 }
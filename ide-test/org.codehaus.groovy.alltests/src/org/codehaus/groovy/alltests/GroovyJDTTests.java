@@ -71,6 +71,7 @@ public class GroovyJDTTests {
         suite.addTest(GroovyCompilationUnitTests.suite());
         suite.addTest(GroovyContentTypeTests.suite());
         suite.addTest(GroovyPartialModelTests.suite());
+        suite.addTestSuite(ModuleNodePositionIndexTests.class);
         suite.addTest(MoveRenameCopyTests.suite());
 
         // Search tests
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * Reads the number of bytes allocated by the current thread. Relies on the
+ * HotSpot extension of {@link ThreadMXBean}, which is looked up reflectively
+ * so that the harness still runs (without allocation figures) elsewhere.
+ */
+public class AllocationCounter {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static final Method GET_ALLOCATED_BYTES;
+    static {
+        Method method = null;
+        try {
+            Class<?> hotspotBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (hotspotBean.isInstance(THREADS)) {
+                method = hotspotBean.getMethod("getThreadAllocatedBytes", long.class);
+            }
+        } catch (Exception e) {
+            // not available on this VM
+        }
+        GET_ALLOCATED_BYTES = method;
+    }
+
+    /**
+     * @return bytes allocated so far by the current thread, or -1 if unknown
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (GET_ALLOCATED_BYTES != null) {
+            try {
+                return (Long) GET_ALLOCATED_BYTES.invoke(THREADS, Thread.currentThread().getId());
+            } catch (Exception e) {
+                // fall through
+            }
+        }
+        return -1;
+    }
+
+    private AllocationCounter() {
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+/**
+ * A single measurable workload. The runner calls {@link #setUp} once, then
+ * {@link #run} repeatedly for warm-up and measurement, then {@link #tearDown}.
+ * Each call to {@link #run} reports how many operations it performed so that
+ * throughput can be expressed per operation regardless of corpus size.
+ */
+public abstract class Benchmark {
+
+    private final String name;
+
+    protected Benchmark(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+    }
+
+    /**
+     * Performs one iteration of the workload.
+     *
+     * @return the number of operations performed
+     */
+    public abstract int run() throws Exception;
+
+    public void tearDown() throws Exception {
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.application.WorkbenchAdvisor;
+import org.eclipse.ui.internal.Workbench;
+
+/**
+ * Headless application that measures inferencing, reconcile, code select,
+ * completion and DSLD lookup throughput over a corpus of Groovy projects.
+ * Like the static checker application, it brings up a workbench without any
+ * windows and does its work in a job once the workbench has started.
+ *
+ * <pre>
+ * eclipse -application org.codehaus.groovy.eclipse.benchmark.benchmark --corpus &lt;DIR&gt; [--result_file &lt;FILE&gt;]
+ *         [--warmup &lt;N&gt;] [--iterations &lt;N&gt;] [--benchmarks &lt;NAME|NAME...&gt;]
+ * </pre>
+ */
+public class BenchmarkApplication implements IApplication {
+
+    class BenchmarkJob extends Job {
+
+        public BenchmarkJob() {
+            super("Benchmark Job");
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            int exitCode = -1;
+            try {
+                JavaCore.initializeAfterLoad(new NullProgressMonitor());
+
+                BenchmarkCorpus corpus = new BenchmarkCorpus(corpusLocation);
+                corpus.load();
+                System.out.println("Loaded " + corpus.getUnits().size() + " Groovy units from " + corpus.getProjects().size() + " projects");
+
+                BenchmarkRunner runner = new BenchmarkRunner(warmupIterations, measurementIterations);
+                List<BenchmarkResult> results = runner.runAll(selectBenchmarks(), corpus);
+
+                BenchmarkReport report = new BenchmarkReport(corpus, runner, results);
+                if (resultFile != null) {
+                    report.write(new File(resultFile));
+                    System.out.println("Results written to " + resultFile);
+                } else {
+                    PrintWriter out = new PrintWriter(System.out);
+                    report.write(out);
+                    out.flush();
+                }
+                exitCode = 0;
+                for (BenchmarkResult result : results) {
+                    if (result.failure != null) {
+                        exitCode = -1;
+                    }
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            display.asyncExec(new Runnable() {
+                public void run() {
+                    Workbench.getInstance().close();
+                }
+            });
+
+            System.exit(exitCode);
+
+            // won't get here
+            return Status.OK_STATUS;
+        }
+    }
+
+    public class BenchmarkWorkbenchAdvisor extends WorkbenchAdvisor {
+
+        @Override
+        public String getInitialWindowPerspectiveId() {
+            return null;
+        }
+
+        @Override
+        public void postStartup() {
+            new BenchmarkJob().schedule();
+        }
+    }
+
+    /**
+     * All known benchmarks by name, in the order they are run.
+     */
+    static Map<String, Benchmark> createBenchmarks() {
+        Map<String, Benchmark> benchmarks = new LinkedHashMap<String, Benchmark>();
+        for (Benchmark benchmark : new Benchmark[] {
+            new ReconcileBenchmark(),
+            new InferencingBenchmark(),
+            new GenericsInferencingBenchmark(),
+            new HierarchyInferencingBenchmark(),
+            new CodeSelectBenchmark(),
+            new CompletionBenchmark(),
+            new WarmStartBenchmark(false),
+            new WarmStartBenchmark(true),
+            new DSLDLookupBenchmark(),
+            new IndexingBenchmark(-1),
+            new IndexingBenchmark(1),
+            new IndexingBenchmark(2),
+            new IndexingBenchmark(4),
+            new BinaryIndexingBenchmark(),
+            new BuildBenchmark(0),
+            new BuildBenchmark(2),
+            new BuildBenchmark(4),
+            new OrganizeImportsBenchmark(false),
+            new OrganizeImportsBenchmark(true),
+            new FormatterBenchmark(1000),
+            new FormatterBenchmark(10000),
+            new FormatterBenchmark(50000),
+            new FieldAccessBenchmark(false),
+            new FieldAccessBenchmark(true)
+        }) {
+            benchmarks.put(benchmark.getName(), benchmark);
+        }
+        return benchmarks;
+    }
+
+    private File corpusLocation;
+    private String resultFile;
+    private int warmupIterations = 3;
+    private int measurementIterations = 5;
+    private String[] benchmarkNames;
+    Display display;
+
+    public Object start(IApplicationContext context) throws Exception {
+        if (!processCommandLine((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS))) {
+            return EXIT_OK;
+        }
+        display = PlatformUI.createDisplay();
+        return PlatformUI.createAndRunWorkbench(display, new BenchmarkWorkbenchAdvisor());
+    }
+
+    public void stop() {
+    }
+
+    List<Benchmark> selectBenchmarks() {
+        Map<String, Benchmark> all = createBenchmarks();
+        if (benchmarkNames == null) {
+            return new ArrayList<Benchmark>(all.values());
+        }
+        List<Benchmark> selected = new ArrayList<Benchmark>(benchmarkNames.length);
+        for (String name : benchmarkNames) {
+            Benchmark benchmark = all.get(name);
+            if (benchmark != null) {
+                selected.add(benchmark);
+            } else {
+                System.err.println("Warning: unknown benchmark " + name + ".  Ignoring.");
+            }
+        }
+        return selected;
+    }
+
+    private boolean processCommandLine(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("-h") || arg.equals("--help")) {
+                printUsage(false);
+                return false;
+            } else if (i == args.length - 1 && arg.startsWith("--")) {
+                System.err.println("Missing " + arg + " argument");
+                printUsage(true);
+                return false;
+            } else if (arg.equals("--corpus")) {
+                corpusLocation = new File(args[++i]);
+            } else if (arg.equals("--result_file")) {
+                resultFile = args[++i];
+            } else if (arg.equals("--warmup")) {
+                warmupIterations = Integer.parseInt(args[++i]);
+            } else if (arg.equals("--iterations")) {
+                measurementIterations = Integer.parseInt(args[++i]);
+            } else if (arg.equals("--benchmarks")) {
+                benchmarkNames = args[++i].split("\\|");
+            }
+        }
+        if (corpusLocation == null || !corpusLocation.isDirectory()) {
+            printUsage(true);
+            return false;
+        }
+        return true;
+    }
+
+    private void printUsage(boolean isInvalid) {
+        if (isInvalid) {
+            System.out.println("Invalid command line.");
+        }
+
+        System.out.println("Usage:");
+        System.out.println("eclipse -application org.codehaus.groovy.eclipse.benchmark.benchmark --corpus <DIR> [--result_file <FILE>] [--warmup <N>] [--iterations <N>] [--benchmarks <NAMES>]");
+        System.out.println("where:");
+        System.out.println("\t--help OR -h  Print this message and exit.");
+        System.out.println("\t--corpus  Folder whose sub-folders are the Groovy projects to benchmark.");
+        System.out.println("\t--result_file  File to write the JSON results to.  If not specified, then results sent to sysout.");
+        System.out.println("\t--warmup  Number of unmeasured iterations per benchmark (default 3).");
+        System.out.println("\t--iterations  Number of measured iterations per benchmark (default 5).");
+        System.out.println("\t--benchmarks  Benchmarks to run.  Use '|' as a separator.  Available: " + createBenchmarks().keySet());
+    }
+}
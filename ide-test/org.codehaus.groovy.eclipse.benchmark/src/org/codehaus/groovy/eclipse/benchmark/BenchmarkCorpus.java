@@ -0,0 +1,151 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.codehaus.jdt.groovy.model.GroovyNature;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * A set of Groovy projects loaded from disk. Every direct child of the corpus
+ * folder that contains a <code>.project</code> file is imported into the
+ * workspace (without copying) and opened. Units are kept in a stable order and
+ * the offsets used for code select and completion are derived from the source
+ * text, so that two runs over the same corpus do exactly the same work.
+ */
+public class BenchmarkCorpus {
+
+    /** upper bound on the number of code select/completion offsets taken from each unit */
+    public static final int MAX_OFFSETS_PER_UNIT = 8;
+
+    private final File location;
+
+    private final List<IProject> projects = new ArrayList<IProject>();
+
+    private final List<GroovyCompilationUnit> units = new ArrayList<GroovyCompilationUnit>();
+
+    public BenchmarkCorpus(File location) {
+        this.location = location;
+    }
+
+    public File getLocation() {
+        return location;
+    }
+
+    public List<IProject> getProjects() {
+        return Collections.unmodifiableList(projects);
+    }
+
+    public List<GroovyCompilationUnit> getUnits() {
+        return Collections.unmodifiableList(units);
+    }
+
+    public void load() throws CoreException {
+        File[] children = location.listFiles();
+        if (children == null) {
+            throw new IllegalArgumentException("Corpus location is not a folder: " + location);
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            if (new File(child, ".project").isFile()) {
+                IProject project = importProject(child);
+                if (GroovyNature.hasGroovyNature(project)) {
+                    projects.add(project);
+                    collectUnits(JavaCore.create(project));
+                } else {
+                    System.err.println("Warning: " + project.getName() + " is not a Groovy project.  Ignoring.");
+                }
+            }
+        }
+        Collections.sort(units, new Comparator<GroovyCompilationUnit>() {
+            public int compare(GroovyCompilationUnit u1, GroovyCompilationUnit u2) {
+                return u1.getPath().toString().compareTo(u2.getPath().toString());
+            }
+        });
+    }
+
+    private IProject importProject(File folder) throws CoreException {
+        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+        IProjectDescription description = ResourcesPlugin.getWorkspace().loadProjectDescription(
+                new Path(folder.getAbsolutePath()).append(".project"));
+        IProject project = root.getProject(description.getName());
+        if (project.exists() && !folder.getAbsoluteFile().equals(project.getLocation().toFile().getAbsoluteFile())) {
+            // delete existing project from workspace, but not the filesystem
+            project.delete(IResource.NEVER_DELETE_PROJECT_CONTENT | IResource.FORCE, null);
+        }
+        if (!project.exists()) {
+            description.setLocation(new Path(folder.getAbsolutePath()));
+            project.create(description, null);
+        }
+        project.open(null);
+        return project;
+    }
+
+    private void collectUnits(IJavaProject javaProject) throws CoreException {
+        for (IPackageFragmentRoot root : javaProject.getPackageFragmentRoots()) {
+            if (root.getKind() == IPackageFragmentRoot.K_SOURCE && root.getJavaProject().equals(javaProject)) {
+                for (Object child : root.getChildren()) {
+                    for (ICompilationUnit unit : ((IPackageFragment) child).getCompilationUnits()) {
+                        if (unit instanceof GroovyCompilationUnit) {
+                            units.add((GroovyCompilationUnit) unit);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the offsets at which member references start, ie- just after a
+     * '.' that is followed by an identifier. At most
+     * {@link #MAX_OFFSETS_PER_UNIT} offsets are returned, spread evenly over
+     * the unit.
+     */
+    public static int[] findMemberOffsets(GroovyCompilationUnit unit) {
+        char[] contents = unit.getContents();
+        List<Integer> candidates = new ArrayList<Integer>();
+        for (int i = 1; i < contents.length; i++) {
+            if (contents[i - 1] == '.' && Character.isJavaIdentifierStart(contents[i])
+                    && (i < 2 || Character.isJavaIdentifierPart(contents[i - 2]) || contents[i - 2] == ')')) {
+                candidates.add(i);
+            }
+        }
+        int count = Math.min(MAX_OFFSETS_PER_UNIT, candidates.size());
+        int[] offsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = candidates.get(i * candidates.size() / count);
+        }
+        return offsets;
+    }
+}
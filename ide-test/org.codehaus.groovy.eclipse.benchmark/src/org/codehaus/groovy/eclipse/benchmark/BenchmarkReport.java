@@ -0,0 +1,126 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import groovy.lang.GroovySystem;
+
+/**
+ * Writes benchmark results as JSON so that successive runs can be compared
+ * by tooling. The format is deliberately flat:
+ *
+ * <pre>
+ * { "timestamp": ..., "groovyVersion": ..., "corpus": ..., "units": n,
+ *   "warmupIterations": n, "measurementIterations": n,
+ *   "results": [ { "name": ..., "operations": n, "nanos": n, "opsPerSecond": x,
+ *                  "millisPerOp": x, "bytesPerOp": n, "failure": ... }, ... ] }
+ * </pre>
+ */
+public class BenchmarkReport {
+
+    private final BenchmarkCorpus corpus;
+
+    private final BenchmarkRunner runner;
+
+    private final List<BenchmarkResult> results;
+
+    public BenchmarkReport(BenchmarkCorpus corpus, BenchmarkRunner runner, List<BenchmarkResult> results) {
+        this.corpus = corpus;
+        this.runner = runner;
+        this.results = results;
+    }
+
+    public void write(File file) throws IOException {
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+        try {
+            write(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    public void write(PrintWriter out) {
+        out.println("{");
+        out.println("  \"timestamp\": " + quote(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(new Date())) + ",");
+        out.println("  \"groovyVersion\": " + quote(GroovySystem.getVersion()) + ",");
+        out.println("  \"javaVersion\": " + quote(System.getProperty("java.version")) + ",");
+        out.println("  \"corpus\": " + quote(corpus.getLocation().getAbsolutePath()) + ",");
+        out.println("  \"units\": " + corpus.getUnits().size() + ",");
+        out.println("  \"warmupIterations\": " + runner.getWarmupIterations() + ",");
+        out.println("  \"measurementIterations\": " + runner.getMeasurementIterations() + ",");
+        out.println("  \"results\": [");
+        for (int i = 0, n = results.size(); i < n; i++) {
+            BenchmarkResult result = results.get(i);
+            out.print("    { \"name\": " + quote(result.name));
+            if (result.failure != null) {
+                out.print(", \"failure\": " + quote(result.failure));
+            } else {
+                out.print(", \"operations\": " + result.operations);
+                out.print(", \"nanos\": " + result.nanos);
+                out.print(", \"opsPerSecond\": " + String.format(Locale.ENGLISH, "%.3f", result.getOpsPerSecond()));
+                out.print(", \"millisPerOp\": " + String.format(Locale.ENGLISH, "%.6f", result.getMillisPerOp()));
+                out.print(", \"bytesPerOp\": " + result.getBytesPerOp());
+            }
+            out.println(i < n - 1 ? " }," : " }");
+        }
+        out.println("  ]");
+        out.println("}");
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
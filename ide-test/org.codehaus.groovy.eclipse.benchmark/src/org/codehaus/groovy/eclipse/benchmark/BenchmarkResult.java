@@ -0,0 +1,69 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+/**
+ * Measurements of a single benchmark over the measured iterations.
+ */
+public class BenchmarkResult {
+
+    public final String name;
+
+    public final long operations;
+
+    public final long nanos;
+
+    /** total bytes allocated by the benchmark thread, or -1 if the VM can't tell */
+    public final long allocatedBytes;
+
+    public final String failure;
+
+    public BenchmarkResult(String name, long operations, long nanos, long allocatedBytes) {
+        this.name = name;
+        this.operations = operations;
+        this.nanos = nanos;
+        this.allocatedBytes = allocatedBytes;
+        this.failure = null;
+    }
+
+    public BenchmarkResult(String name, Throwable failure) {
+        this.name = name;
+        this.operations = 0;
+        this.nanos = 0;
+        this.allocatedBytes = -1;
+        this.failure = String.valueOf(failure);
+    }
+
+    public double getOpsPerSecond() {
+        return nanos == 0 ? 0 : operations / (nanos / 1e9);
+    }
+
+    public double getMillisPerOp() {
+        return operations == 0 ? 0 : (nanos / 1e6) / operations;
+    }
+
+    public long getBytesPerOp() {
+        return allocatedBytes < 0 || operations == 0 ? -1 : allocatedBytes / operations;
+    }
+
+    @Override
+    public String toString() {
+        if (failure != null) {
+            return name + ": FAILED " + failure;
+        }
+        return String.format("%-24s %12.2f ops/s %10.3f ms/op %12d B/op", name, getOpsPerSecond(), getMillisPerOp(), getBytesPerOp());
+    }
+}
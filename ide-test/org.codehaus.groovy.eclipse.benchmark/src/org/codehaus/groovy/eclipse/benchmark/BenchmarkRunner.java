@@ -0,0 +1,82 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs benchmarks JMH-style: a number of unmeasured warm-up iterations
+ * followed by measured iterations, with wall time and thread allocation
+ * recorded around the measured iterations only.
+ */
+public class BenchmarkRunner {
+
+    private final int warmupIterations;
+
+    private final int measurementIterations;
+
+    public BenchmarkRunner(int warmupIterations, int measurementIterations) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+    }
+
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    public int getMeasurementIterations() {
+        return measurementIterations;
+    }
+
+    public List<BenchmarkResult> runAll(List<Benchmark> benchmarks, BenchmarkCorpus corpus) {
+        List<BenchmarkResult> results = new ArrayList<BenchmarkResult>(benchmarks.size());
+        for (Benchmark benchmark : benchmarks) {
+            BenchmarkResult result = run(benchmark, corpus);
+            System.out.println(result);
+            results.add(result);
+        }
+        return results;
+    }
+
+    public BenchmarkResult run(Benchmark benchmark, BenchmarkCorpus corpus) {
+        try {
+            benchmark.setUp(corpus);
+            try {
+                for (int i = 0; i < warmupIterations; i++) {
+                    benchmark.run();
+                }
+                System.gc();
+
+                long operations = 0;
+                long startBytes = AllocationCounter.currentThreadAllocatedBytes();
+                long startTime = System.nanoTime();
+                for (int i = 0; i < measurementIterations; i++) {
+                    operations += benchmark.run();
+                }
+                long nanos = System.nanoTime() - startTime;
+                long endBytes = AllocationCounter.currentThreadAllocatedBytes();
+
+                return new BenchmarkResult(benchmark.getName(), operations, nanos, startBytes < 0 ? -1 : endBytes - startBytes);
+            } finally {
+                benchmark.tearDown();
+            }
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return new BenchmarkResult(benchmark.getName(), t);
+        }
+    }
+}
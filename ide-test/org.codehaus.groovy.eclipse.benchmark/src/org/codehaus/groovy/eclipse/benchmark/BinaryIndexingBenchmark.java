@@ -0,0 +1,139 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.codehaus.jdt.groovy.integration.internal.BinaryGroovySupplementalIndexer;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+
+/**
+ * Extraction of the extra references that are indexed for Groovy-compiled
+ * class files, over every Groovy class found in the jars on the classpath of
+ * the corpus projects. The class files are read and parsed ahead of time so
+ * that only the supplemental indexer is measured. The number of references
+ * and their total length, which is what ends up in the index, are printed
+ * once during set up.
+ */
+public class BinaryIndexingBenchmark extends Benchmark {
+
+    private final List<ClassFileReader> readers = new ArrayList<ClassFileReader>();
+
+    private final List<byte[]> contents = new ArrayList<byte[]>();
+
+    private final BinaryGroovySupplementalIndexer indexer = new BinaryGroovySupplementalIndexer();
+
+    public BinaryIndexingBenchmark() {
+        super("binaryIndexing");
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        Set<File> jars = new LinkedHashSet<File>();
+        for (IProject project : corpus.getProjects()) {
+            IJavaProject javaProject = JavaCore.create(project);
+            for (IClasspathEntry entry : javaProject.getResolvedClasspath(true)) {
+                if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+                    File file = entry.getPath().toFile();
+                    if (file.isFile() && file.getName().endsWith(".jar")) {
+                        jars.add(file);
+                    }
+                }
+            }
+        }
+        for (File jar : jars) {
+            readGroovyClasses(jar);
+        }
+
+        int references = 0;
+        long characters = 0;
+        for (int i = 0, n = readers.size(); i < n; i += 1) {
+            for (char[] reference : indexer.extractNamedReferences(contents.get(i), readers.get(i))) {
+                references += 1;
+                characters += reference.length;
+            }
+        }
+        System.out.println(getName() + ": " + readers.size() + " Groovy classes in " + jars.size() + " jars, " +
+                references + " references, " + characters + " characters");
+    }
+
+    private void readGroovyClasses(File jar) throws IOException {
+        JarFile jarFile = new JarFile(jar);
+        try {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(".class")) {
+                    byte[] bytes = read(jarFile.getInputStream(entry));
+                    try {
+                        ClassFileReader reader = new ClassFileReader(bytes, entry.getName().toCharArray());
+                        char[] sourceFileName = reader.sourceFileName();
+                        if (sourceFileName != null && String.valueOf(sourceFileName).endsWith(".groovy")) {
+                            readers.add(reader);
+                            contents.add(bytes);
+                        }
+                    } catch (Exception e) {
+                        // not a valid class file; the indexer would skip it too
+                    }
+                }
+            }
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    @Override
+    public int run() throws Exception {
+        for (int i = 0, n = readers.size(); i < n; i += 1) {
+            indexer.extractNamedReferences(contents.get(i), readers.get(i));
+        }
+        return readers.size();
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        readers.clear();
+        contents.clear();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.util.List;
+
+import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser;
+import org.codehaus.jdt.groovy.internal.compiler.ast.UnresolvableTypeCache;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+
+/**
+ * Full build of every corpus project. Bytecode for the classes of each Groovy
+ * compilation unit is generated by the given number of threads; with less than
+ * 2 classes are generated one at a time on the building thread. The number of
+ * type lookups that were skipped because the name was known to be
+ * unresolvable is printed during tear down.
+ */
+public class BuildBenchmark extends Benchmark {
+
+    private final int threads;
+
+    private int savedThreads;
+
+    private List<IProject> projects;
+
+    private int units;
+
+    public BuildBenchmark(int threads) {
+        super(threads < 2 ? "build" : "build" + threads);
+        this.threads = threads;
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        projects = corpus.getProjects();
+        units = corpus.getUnits().size();
+        savedThreads = GroovyParser.getClassgenThreads();
+        GroovyParser.setClassgenThreads(threads);
+        UnresolvableTypeCache.resetCounters();
+    }
+
+    @Override
+    public int run() throws Exception {
+        for (IProject project : projects) {
+            project.build(IncrementalProjectBuilder.FULL_BUILD, null);
+        }
+        return units;
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        GroovyParser.setClassgenThreads(savedThreads);
+        System.out.println(getName() + ": " + UnresolvableTypeCache.getNamesRecorded() + " unresolvable names recorded, " +
+                UnresolvableTypeCache.getLookupsAvoided() + " lookups avoided");
+        projects = null;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+
+/**
+ * Code select (as used by navigation and hovers) on member references.
+ */
+public class CodeSelectBenchmark extends OffsetBenchmark {
+
+    public CodeSelectBenchmark() {
+        super("codeSelect");
+    }
+
+    @Override
+    protected void run(GroovyCompilationUnit unit, int offset) throws Exception {
+        unit.codeSelect(offset, 0);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.util.List;
+
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+
+/**
+ * A benchmark that performs the same operation on every unit of the corpus.
+ * When {@link #useWorkingCopies()} is true, all units are turned into working
+ * copies during set up so that the measurement excludes parsing.
+ */
+public abstract class CompilationUnitBenchmark extends Benchmark {
+
+    protected List<GroovyCompilationUnit> units;
+
+    protected CompilationUnitBenchmark(String name) {
+        super(name);
+    }
+
+    protected boolean useWorkingCopies() {
+        return true;
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        units = corpus.getUnits();
+        if (useWorkingCopies()) {
+            for (GroovyCompilationUnit unit : units) {
+                unit.becomeWorkingCopy(null);
+            }
+        }
+    }
+
+    @Override
+    public int run() throws Exception {
+        int operations = 0;
+        for (GroovyCompilationUnit unit : units) {
+            operations += run(unit);
+        }
+        return operations;
+    }
+
+    /**
+     * @return the number of operations performed on the unit
+     */
+    protected abstract int run(GroovyCompilationUnit unit) throws Exception;
+
+    @Override
+    public void tearDown() throws Exception {
+        if (useWorkingCopies()) {
+            for (GroovyCompilationUnit unit : units) {
+                unit.discardWorkingCopy();
+            }
+        }
+    }
+}
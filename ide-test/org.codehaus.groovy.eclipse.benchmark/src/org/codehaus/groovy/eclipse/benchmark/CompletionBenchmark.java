@@ -0,0 +1,62 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import org.codehaus.groovy.eclipse.codeassist.requestor.GroovyCompletionProposalComputer;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+
+/**
+ * Content assist on member references, from completion context detection
+ * through proposal generation. Runs without an editor, so the invocation
+ * context only supplies the unit, the document and the offset.
+ */
+public class CompletionBenchmark extends OffsetBenchmark {
+
+    static class HeadlessInvocationContext extends JavaContentAssistInvocationContext {
+        private final IDocument document;
+        private final int offset;
+
+        HeadlessInvocationContext(GroovyCompilationUnit unit, IDocument document, int offset) {
+            super(unit);
+            this.document = document;
+            this.offset = offset;
+        }
+
+        @Override
+        public IDocument getDocument() {
+            return document;
+        }
+
+        @Override
+        public int getInvocationOffset() {
+            return offset;
+        }
+    }
+
+    public CompletionBenchmark() {
+        super("completion");
+    }
+
+    @Override
+    protected void run(GroovyCompilationUnit unit, int offset) throws Exception {
+        IDocument document = new Document(String.valueOf(unit.getContents()));
+        new GroovyCompletionProposalComputer().computeCompletionProposals(
+                new HeadlessInvocationContext(unit, document, offset), null);
+    }
+}
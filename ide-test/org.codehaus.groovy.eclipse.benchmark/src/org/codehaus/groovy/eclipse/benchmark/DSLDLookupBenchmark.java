@@ -0,0 +1,70 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.util.Set;
+
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.eclipse.dsl.DSLDStore;
+import org.codehaus.groovy.eclipse.dsl.DSLPreferences;
+import org.codehaus.groovy.eclipse.dsl.GroovyDSLCoreActivator;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.GroovyDSLDContext;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.groovy.search.VariableScope;
+
+/**
+ * DSLD contribution lookup: asks the project's DSLD store for the
+ * contributions applicable to each class declared in the unit, the same way
+ * the DSLD type lookup does for a receiver type during inferencing.
+ */
+public class DSLDLookupBenchmark extends CompilationUnitBenchmark {
+
+    private Set<String> disabledScripts;
+
+    public DSLDLookupBenchmark() {
+        super("dsldLookup");
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        super.setUp(corpus);
+        for (IProject project : corpus.getProjects()) {
+            GroovyDSLCoreActivator.getDefault().getContextStoreManager().ensureInitialized(project, true);
+        }
+        disabledScripts = DSLPreferences.getDisabledScriptsAsSet();
+    }
+
+    @Override
+    protected int run(GroovyCompilationUnit unit) throws Exception {
+        ModuleNodeInfo info = unit.getModuleInfo(true);
+        if (info == null || info.module == null) {
+            return 0;
+        }
+        DSLDStore store = GroovyDSLCoreActivator.getDefault().getContextStoreManager().getDSLDStore(unit.getJavaProject());
+        GroovyDSLDContext pattern = new GroovyDSLDContext(unit, info.module, info.resolver);
+        int operations = 0;
+        for (ClassNode clazz : info.module.getClasses()) {
+            pattern.setCurrentScope(new VariableScope(null, clazz, false));
+            pattern.setTargetType(clazz);
+            pattern.setStatic(false);
+            store.createSubStore(pattern).findContributions(pattern, disabledScripts);
+            operations += 1;
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
+
+/**
+ * Private field reads, the way the reconcile and search paths read JDT
+ * internals: either by name through {@link ReflectionUtils#getPrivateField}
+ * or through a {@link FieldAccessor} resolved ahead of time. Does not use the
+ * corpus.
+ */
+public class FieldAccessBenchmark extends Benchmark {
+
+    private static final int READS_PER_RUN = 100000;
+
+    @SuppressWarnings("unused")
+    private static class Holder {
+        private int count = 1;
+        private boolean flag = true;
+        private Object value = "value";
+    }
+
+    private final boolean useAccessor;
+    private final Holder holder = new Holder();
+    private final FieldAccessor count = ReflectionUtils.getFieldAccessor(Holder.class, "count");
+    private final FieldAccessor flag = ReflectionUtils.getFieldAccessor(Holder.class, "flag");
+    private final FieldAccessor value = ReflectionUtils.getFieldAccessor(Holder.class, "value");
+
+    /** Prevents the reads from being optimized away. */
+    public int sink;
+
+    public FieldAccessBenchmark(boolean useAccessor) {
+        super(useAccessor ? "fieldAccessor" : "getPrivateField");
+        this.useAccessor = useAccessor;
+    }
+
+    @Override
+    public int run() throws Exception {
+        int sum = 0;
+        if (useAccessor) {
+            for (int i = 0; i < READS_PER_RUN; i += 1) {
+                sum += count.getInt(holder);
+                sum += flag.getBoolean(holder) ? 1 : 0;
+                sum += value.get(holder) != null ? 1 : 0;
+            }
+        } else {
+            for (int i = 0; i < READS_PER_RUN; i += 1) {
+                sum += ((Integer) ReflectionUtils.getPrivateField(Holder.class, "count", holder)).intValue();
+                sum += ((Boolean) ReflectionUtils.getPrivateField(Holder.class, "flag", holder)).booleanValue() ? 1 : 0;
+                sum += ReflectionUtils.getPrivateField(Holder.class, "value", holder) != null ? 1 : 0;
+            }
+        }
+        sink = sum;
+        return READS_PER_RUN * 3;
+    }
+}
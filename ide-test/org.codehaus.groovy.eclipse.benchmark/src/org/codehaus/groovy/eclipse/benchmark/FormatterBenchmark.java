@@ -0,0 +1,91 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import org.codehaus.groovy.eclipse.refactoring.formatter.DefaultGroovyFormatter;
+import org.codehaus.groovy.eclipse.refactoring.formatter.FormatterPreferences;
+import org.codehaus.groovy.eclipse.refactoring.formatter.IFormatterPreferences;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.TextSelection;
+
+/**
+ * Full formatting (beautify and indent) of a generated, badly indented Groovy
+ * file with the given number of lines. Uses the formatter preferences of the
+ * first corpus project.
+ */
+public class FormatterBenchmark extends Benchmark {
+
+    private final int lines;
+
+    private String source;
+
+    private IFormatterPreferences preferences;
+
+    public FormatterBenchmark(int lines) {
+        super("format" + (lines % 1000 == 0 ? (lines / 1000) + "k" : String.valueOf(lines)));
+        this.lines = lines;
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        preferences = new FormatterPreferences(JavaCore.create(corpus.getProjects().get(0)));
+        source = createSource(lines);
+    }
+
+    /**
+     * Creates classes of ten-line methods with nested closures and lists,
+     * until the requested number of lines is reached.
+     */
+    private static String createSource(int lines) {
+        StringBuilder sb = new StringBuilder();
+        int line = 0, method = 0;
+        while (line < lines) {
+            sb.append("class Formatted").append(method).append(" {\n");
+            line += 1;
+            for (int i = 0; i < 20 && line < lines - 1; i += 1, method += 1) {
+                sb.append("def method").append(method).append("(int x) {\n");
+                sb.append("      def list = [1, 2,\n");
+                sb.append("  3, 4];\n");
+                sb.append("list.each { item ->\n");
+                sb.append("         if (item > x) {\n");
+                sb.append("println item\n");
+                sb.append("  }\n");
+                sb.append("           }\n");
+                sb.append("   return list.collect { it * x }\n");
+                sb.append("}\n");
+                line += 10;
+            }
+            sb.append("}\n");
+            line += 1;
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public int run() throws Exception {
+        DefaultGroovyFormatter formatter = new DefaultGroovyFormatter(
+                new TextSelection(0, 0), new Document(source), preferences, false);
+        formatter.format();
+        return 1;
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        source = null;
+        preferences = null;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.groovy.search.ITypeRequestor;
+import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
+import org.eclipse.jdt.groovy.search.TypeLookupResult;
+
+/**
+ * Type inferencing of a generated unit that makes many member references on
+ * deeply parameterized receivers, to measure the time and allocation spent
+ * resolving generics. The unit is created next to the first unit of the
+ * corpus and deleted afterwards.
+ */
+public class GenericsInferencingBenchmark extends Benchmark {
+
+    private static final int STATEMENTS = 200;
+
+    private static class CountingRequestor implements ITypeRequestor {
+        int nodes;
+
+        public VisitStatus acceptASTNode(ASTNode node, TypeLookupResult result, IJavaElement enclosingElement) {
+            nodes += 1;
+            return VisitStatus.CONTINUE;
+        }
+    }
+
+    private GroovyCompilationUnit unit;
+
+    public GenericsInferencingBenchmark() {
+        super("genericsInference");
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        IPackageFragment pack = (IPackageFragment) corpus.getUnits().get(0).getParent();
+        unit = (GroovyCompilationUnit) pack.createCompilationUnit("GenericsInferencingBenchmark.groovy", createSource(pack), true, null);
+        unit.becomeWorkingCopy(null);
+    }
+
+    private static String createSource(IPackageFragment pack) {
+        StringBuilder sb = new StringBuilder();
+        if (!pack.isDefaultPackage()) {
+            sb.append("package ").append(pack.getElementName()).append('\n');
+        }
+        sb.append("class GenericsInferencingBenchmark {\n");
+        sb.append("  List<Map<String, List<Map<Integer, String>>>> data\n");
+        sb.append("  Map<String, Map<String, Set<List<Number>>>> index\n");
+        sb.append("  void run() {\n");
+        for (int i = 0; i < STATEMENTS; i += 1) {
+            sb.append("    def a").append(i).append(" = data.get(0).get('k').get(0).get(1).toUpperCase()\n");
+            sb.append("    def b").append(i).append(" = index.get('x').values().iterator().next().iterator().next().get(0).intValue()\n");
+            sb.append("    def c").append(i).append(" = data.iterator().next().entrySet().iterator().next().value.size()\n");
+        }
+        sb.append("  }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    @Override
+    public int run() throws Exception {
+        new TypeInferencingVisitorFactory().createVisitor(unit).visitCompilationUnit(new CountingRequestor());
+        return STATEMENTS * 3;
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        if (unit != null) {
+            unit.discardWorkingCopy();
+            unit.delete(true, null);
+            unit = null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.groovy.search.ITypeRequestor;
+import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
+import org.eclipse.jdt.groovy.search.TypeLookupResult;
+
+/**
+ * Type inferencing of a generated unit that makes many property, constant and
+ * method references on the deepest class of a hierarchy of classes and
+ * interfaces, to measure the time spent walking super types. Some references
+ * are to members that do not exist so that whole hierarchies are searched.
+ * The unit is created next to the first unit of the corpus and deleted
+ * afterwards.
+ */
+public class HierarchyInferencingBenchmark extends Benchmark {
+
+    private static final int DEPTH = 20;
+
+    private static final int STATEMENTS = 200;
+
+    private static class CountingRequestor implements ITypeRequestor {
+        int nodes;
+
+        public VisitStatus acceptASTNode(ASTNode node, TypeLookupResult result, IJavaElement enclosingElement) {
+            nodes += 1;
+            return VisitStatus.CONTINUE;
+        }
+    }
+
+    private GroovyCompilationUnit unit;
+
+    public HierarchyInferencingBenchmark() {
+        super("hierarchyInference");
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        IPackageFragment pack = (IPackageFragment) corpus.getUnits().get(0).getParent();
+        unit = (GroovyCompilationUnit) pack.createCompilationUnit("HierarchyInferencingBenchmark.groovy", createSource(pack), true, null);
+        unit.becomeWorkingCopy(null);
+    }
+
+    private static String createSource(IPackageFragment pack) {
+        StringBuilder sb = new StringBuilder();
+        if (!pack.isDefaultPackage()) {
+            sb.append("package ").append(pack.getElementName()).append('\n');
+        }
+        for (int i = 0; i < DEPTH; i += 1) {
+            sb.append("interface Contract").append(i);
+            if (i > 0) {
+                sb.append(" extends Contract").append(i - 1);
+            }
+            sb.append(" {\n  int CONSTANT").append(i).append(" = ").append(i).append('\n');
+            sb.append("  void contract").append(i).append("()\n}\n");
+            sb.append("abstract class Level").append(i);
+            if (i > 0) {
+                sb.append(" extends Level").append(i - 1);
+            }
+            sb.append(" implements Contract").append(i).append(", Comparable {\n");
+            sb.append("  String property").append(i).append('\n');
+            sb.append("  def method").append(i).append("(int x) { x }\n}\n");
+        }
+        sb.append("class HierarchyInferencingBenchmark {\n");
+        sb.append("  Level").append(DEPTH - 1).append(" leaf\n");
+        sb.append("  void run() {\n");
+        for (int i = 0; i < STATEMENTS; i += 1) {
+            int level = i % DEPTH;
+            sb.append("    def a").append(i).append(" = leaf.property").append(level).append(".length()\n");
+            sb.append("    def b").append(i).append(" = leaf.CONSTANT").append(level).append(" + leaf.method").append(level).append("(1)\n");
+            sb.append("    def c").append(i).append(" = leaf.missing").append(level).append('\n');
+        }
+        sb.append("  }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    @Override
+    public int run() throws Exception {
+        new TypeInferencingVisitorFactory().createVisitor(unit).visitCompilationUnit(new CountingRequestor());
+        return STATEMENTS * 3;
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        if (unit != null) {
+            unit.discardWorkingCopy();
+            unit.delete(true, null);
+            unit = null;
+        }
+    }
+}
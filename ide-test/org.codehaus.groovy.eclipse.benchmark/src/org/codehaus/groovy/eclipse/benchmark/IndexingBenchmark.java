@@ -0,0 +1,93 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.util.List;
+
+import org.codehaus.jdt.groovy.integration.internal.MultiplexingIndexingParser;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaSearchConstants;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameRequestor;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
+
+/**
+ * Re-indexing of the source files of every corpus project: the indexes are
+ * discarded and rebuilt, and a search that waits for the index manager to
+ * become idle is done so that the whole job is measured. Groovy files are
+ * parsed ahead of the indexer by the given number of threads, or by the
+ * default number if it is negative.
+ */
+public class IndexingBenchmark extends Benchmark {
+
+    private final int threads;
+
+    private int savedThreads;
+
+    private List<IProject> projects;
+
+    private int units;
+
+    public IndexingBenchmark(int threads) {
+        super(threads < 0 ? "reindex" : "reindex" + threads);
+        this.threads = threads;
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        projects = corpus.getProjects();
+        units = corpus.getUnits().size();
+        savedThreads = MultiplexingIndexingParser.getParserThreads();
+        if (threads >= 0) {
+            MultiplexingIndexingParser.setParserThreads(threads);
+        }
+        waitForIndexer();
+    }
+
+    @Override
+    public int run() throws Exception {
+        IndexManager indexManager = JavaModelManager.getIndexManager();
+        for (IProject project : projects) {
+            indexManager.removeIndex(project.getFullPath());
+            indexManager.indexAll(project);
+        }
+        waitForIndexer();
+        return units;
+    }
+
+    private void waitForIndexer() throws Exception {
+        IJavaElement[] elements = new IJavaElement[projects.size()];
+        for (int i = 0; i < elements.length; i += 1) {
+            elements[i] = JavaCore.create(projects.get(i));
+        }
+        IJavaSearchScope scope = SearchEngine.createJavaSearchScope(elements);
+        new SearchEngine().searchAllTypeNames(null, SearchPattern.R_EXACT_MATCH,
+                "__NoSuchType__".toCharArray(), SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE,
+                IJavaSearchConstants.TYPE, scope, new TypeNameRequestor() {},
+                IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, null);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        MultiplexingIndexingParser.setParserThreads(savedThreads);
+        projects = null;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.groovy.search.ITypeRequestor;
+import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
+import org.eclipse.jdt.groovy.search.TypeLookupResult;
+
+/**
+ * Full type inferencing of each (already parsed) unit with the lookups that
+ * are contributed to its project.
+ */
+public class InferencingBenchmark extends CompilationUnitBenchmark {
+
+    private static class CountingRequestor implements ITypeRequestor {
+        int nodes;
+
+        public VisitStatus acceptASTNode(ASTNode node, TypeLookupResult result, IJavaElement enclosingElement) {
+            nodes += 1;
+            return VisitStatus.CONTINUE;
+        }
+    }
+
+    public InferencingBenchmark() {
+        super("inference");
+    }
+
+    @Override
+    protected int run(GroovyCompilationUnit unit) throws Exception {
+        new TypeInferencingVisitorFactory().createVisitor(unit).visitCompilationUnit(new CountingRequestor());
+        return 1;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+
+/**
+ * A benchmark that performs an operation at fixed offsets in every unit. The
+ * offsets are computed once by {@link BenchmarkCorpus#findMemberOffsets}.
+ */
+public abstract class OffsetBenchmark extends CompilationUnitBenchmark {
+
+    private final Map<GroovyCompilationUnit, int[]> offsets = new HashMap<GroovyCompilationUnit, int[]>();
+
+    protected OffsetBenchmark(String name) {
+        super(name);
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        super.setUp(corpus);
+        for (GroovyCompilationUnit unit : units) {
+            offsets.put(unit, BenchmarkCorpus.findMemberOffsets(unit));
+        }
+    }
+
+    @Override
+    protected int run(GroovyCompilationUnit unit) throws Exception {
+        int[] unitOffsets = offsets.get(unit);
+        for (int offset : unitOffsets) {
+            run(unit, offset);
+        }
+        return unitOffsets.length;
+    }
+
+    protected abstract void run(GroovyCompilationUnit unit, int offset) throws Exception;
+
+    @Override
+    public void tearDown() throws Exception {
+        offsets.clear();
+        super.tearDown();
+    }
+}
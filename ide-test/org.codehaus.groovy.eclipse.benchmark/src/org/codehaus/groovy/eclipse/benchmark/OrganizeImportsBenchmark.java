@@ -0,0 +1,71 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.util.List;
+
+import org.codehaus.groovy.eclipse.refactoring.actions.OrganizeGroovyImports;
+import org.codehaus.groovy.eclipse.refactoring.actions.TypeSearch;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.internal.corext.codemanipulation.OrganizeImportsOperation.IChooseImportQuery;
+
+/**
+ * Computation of the organize imports edits of every corpus unit, without
+ * applying them. Either each unit is organized on its own, the way a single
+ * save does it, or all of them share one {@link TypeSearch}, the way the
+ * organize imports clean up does it for a selection of units.
+ */
+public class OrganizeImportsBenchmark extends Benchmark {
+
+    private static final IChooseImportQuery QUERY = new IChooseImportQuery() {
+        public TypeNameMatch[] chooseImports(TypeNameMatch[][] openChoices, ISourceRange[] ranges) {
+            return new TypeNameMatch[0];
+        }
+    };
+
+    private final boolean batched;
+
+    private List<GroovyCompilationUnit> units;
+
+    public OrganizeImportsBenchmark(boolean batched) {
+        super(batched ? "organizeImportsBatch" : "organizeImports");
+        this.batched = batched;
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        units = corpus.getUnits();
+    }
+
+    @Override
+    public int run() throws Exception {
+        TypeSearch typeSearch = batched ? new TypeSearch() : null;
+        for (GroovyCompilationUnit unit : units) {
+            OrganizeGroovyImports organizer = batched
+                    ? new OrganizeGroovyImports(unit, QUERY, null, typeSearch)
+                    : new OrganizeGroovyImports(unit, QUERY);
+            organizer.calculateMissingImports();
+        }
+        return units.size();
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        units = null;
+    }
+}
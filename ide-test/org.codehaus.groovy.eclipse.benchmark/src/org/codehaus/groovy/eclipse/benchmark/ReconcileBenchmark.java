@@ -0,0 +1,46 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.core.ICompilationUnit;
+
+/**
+ * Parse-to-reconcile: opens each unit as a working copy (parse and resolve),
+ * reconciles it with problem detection and discards it again.
+ */
+public class ReconcileBenchmark extends CompilationUnitBenchmark {
+
+    public ReconcileBenchmark() {
+        super("reconcile");
+    }
+
+    @Override
+    protected boolean useWorkingCopies() {
+        return false;
+    }
+
+    @Override
+    protected int run(GroovyCompilationUnit unit) throws Exception {
+        unit.becomeWorkingCopy(null);
+        try {
+            unit.reconcile(ICompilationUnit.NO_AST, true, null, null);
+        } finally {
+            unit.discardWorkingCopy();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.groovy.eclipse.codeassist.requestor.GroovyCompletionProposalComputer;
+import org.codehaus.jdt.groovy.model.ClosedModuleNodeCache;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+
+/**
+ * Content assist at the first member reference of up to 100 units that are
+ * not open in an editor, as done right after a restart: the cache of closed
+ * module nodes is emptied before each iteration. When warm, the files are
+ * then loaded again from a saved cache file, as the background job does on
+ * start up, before content assist runs. The average latency of content assist
+ * alone and the number of units whose module node was still cached when
+ * content assist started are printed during tear down.
+ */
+public class WarmStartBenchmark extends Benchmark {
+
+    private static final int MAX_UNITS = 100;
+
+    private final boolean warm;
+
+    private final List<GroovyCompilationUnit> units = new ArrayList<GroovyCompilationUnit>();
+
+    private final List<Integer> offsets = new ArrayList<Integer>();
+
+    private File cacheFile;
+
+    private long completionNanos;
+
+    private int completions;
+
+    private int servedWarm;
+
+    public WarmStartBenchmark(boolean warm) {
+        super(warm ? "warmStart" : "coldStart");
+        this.warm = warm;
+    }
+
+    @Override
+    public void setUp(BenchmarkCorpus corpus) throws Exception {
+        ClosedModuleNodeCache cache = ClosedModuleNodeCache.getInstance();
+        cache.clear();
+        for (GroovyCompilationUnit unit : corpus.getUnits()) {
+            int[] unitOffsets = BenchmarkCorpus.findMemberOffsets(unit);
+            if (unitOffsets.length > 0 && !unit.isWorkingCopy()) {
+                units.add(unit);
+                offsets.add(unitOffsets[0]);
+                unit.getModuleInfo(true);
+                if (units.size() == MAX_UNITS) {
+                    break;
+                }
+            }
+        }
+        cacheFile = File.createTempFile("moduleNodeCache", ".txt");
+        cache.save(cacheFile);
+    }
+
+    @Override
+    public int run() throws Exception {
+        ClosedModuleNodeCache cache = ClosedModuleNodeCache.getInstance();
+        cache.clear();
+        if (warm) {
+            cache.warm(cacheFile, null);
+        }
+        long start = System.nanoTime();
+        for (int i = 0, n = units.size(); i < n; i += 1) {
+            GroovyCompilationUnit unit = units.get(i);
+            if (cache.contains((IFile) unit.getResource())) {
+                servedWarm += 1;
+            }
+            IDocument document = new Document(String.valueOf(unit.getContents()));
+            new GroovyCompletionProposalComputer().computeCompletionProposals(
+                    new CompletionBenchmark.HeadlessInvocationContext(unit, document, offsets.get(i)), null);
+        }
+        completionNanos += System.nanoTime() - start;
+        completions += units.size();
+        return units.size();
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        if (completions > 0) {
+            System.out.println(getName() + ": " + (completionNanos / completions / 1000) + " us per first content assist in " +
+                    units.size() + " units, " + servedWarm + " of " + completions + " served warm");
+        }
+        ClosedModuleNodeCache.getInstance().clear();
+        cacheFile.delete();
+        units.clear();
+        offsets.clear();
+    }
+}
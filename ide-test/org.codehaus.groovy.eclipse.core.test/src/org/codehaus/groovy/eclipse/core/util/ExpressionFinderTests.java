@@ -40,6 +40,7 @@ public class ExpressionFinderTests extends TestCase {
         StringSourceBuffer sb = new StringSourceBuffer(test);
         try {
             assertEquals(test, finder.findForCompletions(sb, test.length() - 1));
+            assertCached(test, test.length() - 1);
         } catch (ParseException e) {
             fail(e.getMessage());
         }
@@ -59,11 +60,34 @@ public class ExpressionFinderTests extends TestCase {
         StringSourceBuffer sb = new StringSourceBuffer(test);
         try {
             assertEquals(expected, finder.findForCompletions(sb, offset));
+            assertCached(test, offset);
         } catch (ParseException e) {
             fail(e.getMessage());
         }
     }
 
+    /**
+     * Checks that finding an expression with a token cache gives the same result as without, both when the cache is empty and
+     * when it is filled.
+     */
+    private void assertCached(String test, int offset) throws ParseException {
+        ExpressionFinder finder = new ExpressionFinder();
+        String expected = finder.findForCompletions(new StringSourceBuffer(test), offset);
+        TokenCache cache = new TokenCache();
+        assertEquals(expected, finder.findForCompletions(new StringSourceBuffer(test), offset, cache));
+        assertEquals(expected, finder.findForCompletions(new StringSourceBuffer(test), offset, cache));
+        // tokens only, without the remembered expression
+        TokenCache tokens = new TokenCache();
+        TokenStream stream = new TokenStream(new StringSourceBuffer(test), offset, tokens);
+        try {
+            while (!stream.next().isType(Token.Type.EOF)) {
+            }
+        } catch (TokenStreamException e) {
+        } catch (IllegalStateException e) {
+        }
+        assertEquals(expected, finder.findForCompletions(new StringSourceBuffer(test), offset, tokens));
+    }
+
     /**
      * Tests the splitting of an expression into an expression and prefix part for completion.
      *
@@ -324,4 +348,18 @@ public class ExpressionFinderTests extends TestCase {
         StringSourceBuffer sb = new StringSourceBuffer(test);
         assertNull(finder.findForCompletions(sb, test.length() - 1));
     }
+
+    public void testCacheInvalidation() throws Exception {
+        ExpressionFinder finder = new ExpressionFinder();
+        TokenCache cache = new TokenCache();
+        String test = "def x = foo.bar.baz";
+        assertEquals("foo.bar.baz", finder.findForCompletions(new StringSourceBuffer(test), test.length() - 1, cache));
+
+        // the user replaces 'bar' with 'qux'
+        int changeOffset = test.indexOf("bar");
+        cache.invalidateFrom(changeOffset);
+        test = "def x = foo.qux.baz";
+        assertEquals("foo.qux.baz", finder.findForCompletions(new StringSourceBuffer(test), test.length() - 1, cache));
+        assertEquals("foo", finder.findForCompletions(new StringSourceBuffer(test), test.indexOf("foo") + 2, cache));
+    }
 }
@@ -26,13 +26,17 @@ import org.codehaus.groovy.eclipse.quickfix.proposals.AddClassCastResolver;
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddClassCastResolver.AddClassCastProposal;
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddGroovyRuntimeResolver;
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddMissingGroovyImportsResolver;
+import org.codehaus.groovy.eclipse.quickfix.proposals.GroovyQuickFixResolverRegistry;
 import org.codehaus.groovy.eclipse.quickfix.proposals.IQuickFixResolver;
+import org.codehaus.groovy.eclipse.quickfix.proposals.ProblemDescriptor;
 import org.codehaus.groovy.eclipse.quickfix.proposals.ProblemType;
+import org.codehaus.groovy.eclipse.quickfix.proposals.QuickFixProblemContext;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.tests.util.GroovyUtils;
+import org.eclipse.jdt.internal.ui.text.correction.AssistContext;
 import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
 
 /**
@@ -238,6 +242,52 @@ public class GroovyProjectGroovyQuickFixTest extends GroovyProjectQuickFixHarnes
         assertNull("Expected no resolver for nonexistant type: " + nonExistantType, resolver);
     }
 
+    /**
+     * Computes the quick fixes of a Groovy file with 500 unresolved types, half
+     * of which can be imported. Problems are created directly since the
+     * compiler reports only so many problems per unit.
+     */
+    public void testAddImportManyUnresolved() throws Exception {
+        int count = 500;
+        String[] names = new String[count];
+        int[] offsets = new int[count];
+        StringBuilder content = new StringBuilder("class BarManyUnresolved {\n");
+        for (int i = 0; i < count; i += 1) {
+            names[i] = (i % 2 == 0) ? "TopLevelType" : "Missing" + (i % 100);
+            content.append("  ");
+            offsets[i] = content.length();
+            content.append(names[i]).append(" field").append(i).append("\n");
+        }
+        content.append("}");
+        ICompilationUnit unit = createGroovyTypeInTestPackage("BarManyUnresolved.groovy", content.toString());
+
+        unit.becomeWorkingCopy(null);
+        try {
+            for (int i = 0; i < count; i += 1) {
+                ProblemDescriptor descriptor = new ProblemDescriptor(ProblemType.MISSING_IMPORTS_TYPE,
+                        new String[] {"Groovy:unable to resolve class " + names[i]});
+                QuickFixProblemContext context = new QuickFixProblemContext(descriptor,
+                        new AssistContext(unit, offsets[i], names[i].length()), null);
+                List<IQuickFixResolver> resolvers = new GroovyQuickFixResolverRegistry(context).getQuickFixResolvers();
+                assertNotNull("Expected resolvers for " + names[i], resolvers);
+
+                int found = 0;
+                for (IQuickFixResolver resolver : resolvers) {
+                    List<IJavaCompletionProposal> proposals = resolver.getQuickFixProposals();
+                    if (proposals != null) {
+                        for (IJavaCompletionProposal proposal : proposals) {
+                            assertEquals("Import 'TopLevelType' (" + SUBTEST + ")", proposal.getDisplayString());
+                            found += 1;
+                        }
+                    }
+                }
+                assertEquals("Wrong number of proposals for " + names[i], names[i].equals("TopLevelType") ? 1 : 0, found);
+            }
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+
     /**
      * Tests if Groovy add import quick fix resolvers are obtained for an annotation.
      */
@@ -32,6 +32,7 @@ public class FormatterTestSuite extends BaseTestSuite {
         ts.addTestSuite(FindIndentsTests.class);
         ts.addTestSuite(TestFormatterPreferences.class);
         ts.addTestSuite(GroovyDocumentScannerTests.class);
+        ts.addTestSuite(MinimalEditTests.class);
         return ts;
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.refactoring.test.formatter;
+
+import junit.framework.TestCase;
+
+import org.codehaus.groovy.eclipse.refactoring.formatter.DefaultGroovyFormatter;
+import org.eclipse.jface.text.Document;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Tests for the edit that the formatter creates between the original and the formatted text. Applying the edit must always
+ * give back the formatted text, and whitespace changes must not replace any of the text around them.
+ */
+public class MinimalEditTests extends TestCase {
+
+    private TextEdit assertEditReproduces(String original, String formatted) throws Exception {
+        TextEdit edit = DefaultGroovyFormatter.createMinimalEdit(original, formatted);
+        Document document = new Document(original);
+        edit.copy().apply(document);
+        assertEquals(formatted, document.get());
+        return edit;
+    }
+
+    /**
+     * Checks that none of the edits replaces anything other than whitespace.
+     */
+    private void assertWhitespaceOnly(String original, TextEdit edit) {
+        for (TextEdit child : edit.getChildren()) {
+            String replaced = original.substring(child.getOffset(), child.getExclusiveEnd());
+            assertEquals("edit replaces more than whitespace: '" + replaced + "'", "", replaced.trim());
+            assertEquals("edit inserts more than whitespace", "", ((ReplaceEdit) child).getText().trim());
+        }
+    }
+
+    public void testNoChange() throws Exception {
+        TextEdit edit = assertEditReproduces("class A {\n    def x\n}\n", "class A {\n    def x\n}\n");
+        assertEquals(0, edit.getChildrenSize());
+    }
+
+    public void testEmpty() throws Exception {
+        assertEquals(0, assertEditReproduces("", "").getChildrenSize());
+        assertEditReproduces("", "def x");
+        assertEditReproduces("def x", "");
+    }
+
+    public void testWhitespaceOnly() throws Exception {
+        String original = "class A {\ndef x\n\tdef y(){\nx}\n}";
+        String formatted = "class A {\n    def x\n    def y() {\n        x\n    }\n}";
+        TextEdit edit = assertEditReproduces(original, formatted);
+        assertWhitespaceOnly(original, edit);
+        assertEquals(5, edit.getChildrenSize());
+    }
+
+    public void testWhitespaceRemoved() throws Exception {
+        String original = "def  x  =  [1 ,2  ]  \n\n\n";
+        String formatted = "def x = [1, 2]\n";
+        assertWhitespaceOnly(original, assertEditReproduces(original, formatted));
+    }
+
+    public void testLineDelimiters() throws Exception {
+        String original = "def x\r\ndef y\r\n";
+        String formatted = "def x\ndef y\n";
+        TextEdit edit = assertEditReproduces(original, formatted);
+        assertWhitespaceOnly(original, edit);
+        assertEquals(2, edit.getChildrenSize());
+    }
+
+    public void testSemicolonRemoved() throws Exception {
+        assertEditReproduces("def x = 1;\ndef y = 2\n", "def x = 1\ndef y = 2\n");
+        assertEditReproduces("def x = 1;\ndef y = 2;\n", "def x = 1\ndef y = 2\n");
+        assertEditReproduces("def x = 1;", "def x = 1");
+    }
+
+    public void testSemicolonRemovedAfterWhitespaceChanges() throws Exception {
+        String original = "class A {\ndef x;\n  def y\n}\n";
+        String formatted = "class A {\n    def x\n    def y\n}\n";
+        TextEdit edit = assertEditReproduces(original, formatted);
+        // the whitespace before the semicolon is still its own edit
+        assertEquals(2, edit.getChildrenSize());
+        assertEquals("\n", original.substring(edit.getChildren()[0].getOffset(), edit.getChildren()[0].getExclusiveEnd()));
+    }
+
+    public void testChangeAtStart() throws Exception {
+        assertWhitespaceOnly("  \n\tdef x\n", assertEditReproduces("  \n\tdef x\n", "def x\n"));
+        assertWhitespaceOnly("def x\n", assertEditReproduces("def x\n", "\ndef x\n"));
+        assertEditReproduces(";def x\n", "def x\n");
+    }
+
+    public void testChangeAtEnd() throws Exception {
+        assertWhitespaceOnly("def x", assertEditReproduces("def x", "def x\n"));
+        assertWhitespaceOnly("def x\n\n\n", assertEditReproduces("def x\n\n\n", "def x\n"));
+        assertEditReproduces("def x;", "def x");
+        assertEditReproduces("def x;\n", "def x\n");
+    }
+
+    public void testDifferentLengths() throws Exception {
+        assertEditReproduces("a", "a b c d e f");
+        assertEditReproduces("a b c d e f", "a");
+        assertEditReproduces("x = 1", "x = 1; y = 2; z = 3");
+        assertEditReproduces("x = 1; y = 2; z = 3", "x = 1");
+        assertEditReproduces("aaaa", "aa");
+        assertEditReproduces("aa", "aaaa");
+    }
+
+    public void testRepeatedCharacters() throws Exception {
+        // the common suffix must not overlap what was already matched at the start
+        assertEditReproduces("aa;aa", "aaaa");
+        assertEditReproduces("aaaa", "aa;aa");
+        assertEditReproduces("a;a;a", "a a a");
+    }
+}
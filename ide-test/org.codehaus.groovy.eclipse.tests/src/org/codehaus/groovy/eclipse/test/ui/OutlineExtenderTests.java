@@ -243,6 +243,37 @@ public class OutlineExtenderTests extends EclipseTestCase {
         assertEquals(3, ((IField) children[3]).getNameRange().getLength());
     }
 
+    public void testBodyOnlyEditsKeepDisplayedElements() throws Exception {
+        String contents =
+            "String blah() {\n" +
+            "  'blah'\n" +
+            "}\n" +
+            "def yyy = 8\n" +
+            "def zzz = 9";
+        GroovyOutlinePage outline = openFile("Script", contents);
+
+        OCompilationUnit unit = outline.getOutlineCompilationUnit();
+        IJavaElement[] displayed = unit.getChildren();
+        assertEquals("Wrong number of children", 3, displayed.length);
+
+        GroovyCompilationUnit groovyUnit = unit.getUnit();
+        for (int i = 1; i <= 2; i += 1) {
+            // edit inside the body of blah() only
+            groovyUnit.getBuffer().replace(contents.indexOf("  'blah'"), 0, "  println 'edit'\n");
+            contents = groovyUnit.getBuffer().getContents();
+            groovyUnit.reconcile(true, null);
+            outline.refresh();
+
+            IJavaElement[] children = unit.getChildren();
+            assertEquals("Wrong number of children after edit " + i, displayed.length, children.length);
+            for (int j = 0; j < displayed.length; j += 1) {
+                assertSame("Displayed element replaced after edit " + i, displayed[j], children[j]);
+            }
+            assertEquals(contents.indexOf("yyy"), ((IField) displayed[1]).getNameRange().getOffset());
+            assertEquals(contents.indexOf("zzz"), ((IField) displayed[2]).getNameRange().getOffset());
+        }
+    }
+
     public void testStructureUnknown() throws Exception {
         String contents = "class X {  }\n int o( \n}";
         GroovyOutlinePage outline = openFile("Problem", contents);
@@ -15,17 +15,59 @@
  */
 package org.codehaus.groovy.eclipse.codeassist;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import org.codehaus.groovy.eclipse.core.ISourceBuffer;
+import org.codehaus.groovy.eclipse.core.util.TokenCache;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 
 public class DocumentSourceBuffer implements ISourceBuffer {
+	/**
+	 * One token cache per open document, shared by all content assist requests on it. The listener that keeps a cache in sync
+	 * only refers to the cache, so a cache goes away together with its document.
+	 */
+	private static final Map<IDocument, TokenCache> tokenCaches = new WeakHashMap<IDocument, TokenCache>();
+
+	private static class TokenCacheUpdater implements IDocumentListener {
+		private final TokenCache cache;
+
+		TokenCacheUpdater(TokenCache cache) {
+			this.cache = cache;
+		}
+
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			cache.invalidateFrom(event.getOffset());
+		}
+
+		public void documentChanged(DocumentEvent event) {
+		}
+	}
+
 	private IDocument document;
 
 	public DocumentSourceBuffer(IDocument document) {
 		this.document = document;
 	}
 
+	/**
+	 * @return the token cache of this buffer's document, which is invalidated as the document changes
+	 */
+	public TokenCache getTokenCache() {
+		synchronized (tokenCaches) {
+			TokenCache cache = tokenCaches.get(document);
+			if (cache == null) {
+				cache = new TokenCache();
+				document.addDocumentListener(new TokenCacheUpdater(cache));
+				tokenCaches.put(document, cache);
+			}
+			return cache;
+		}
+	}
+
 	public char charAt(int offset) {
 		try {
 			return document.getChar(offset);
@@ -283,8 +283,8 @@ public class GroovyCompletionProposalComputer implements IJavaCompletionProposal
     protected String findCompletionText(IDocument doc, int offset) {
         try {
             if (offset > 0) {
-                ISourceBuffer buffer = new DocumentSourceBuffer(doc);
-                return new ExpressionFinder().findForCompletions(buffer, offset - 1);
+                DocumentSourceBuffer buffer = new DocumentSourceBuffer(doc);
+                return new ExpressionFinder().findForCompletions(buffer, offset - 1, buffer.getTokenCache());
             }
         } catch (ParseException e) {
             // can ignore.  probably just invalid code that is being completed at
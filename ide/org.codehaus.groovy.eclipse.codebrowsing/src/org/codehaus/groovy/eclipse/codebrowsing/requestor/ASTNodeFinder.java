@@ -15,6 +15,7 @@
  */
 package org.codehaus.groovy.eclipse.codebrowsing.requestor;
 
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -56,6 +57,7 @@ import org.codehaus.groovy.eclipse.core.util.ArrayUtils;
 import org.codehaus.groovy.eclipse.core.util.VisitCompleteException;
 import org.codehaus.groovy.runtime.DefaultGroovyMethods;
 import org.codehaus.groovy.runtime.GeneratedClosure;
+import org.codehaus.jdt.groovy.model.ModuleNodePositionIndex;
 import org.eclipse.jdt.groovy.core.util.GroovyUtils;
 
 public class ASTNodeFinder extends ClassCodeVisitorSupport {
@@ -64,6 +66,11 @@ public class ASTNodeFinder extends ClassCodeVisitorSupport {
     protected ASTNode result;
     protected Region sloc;
 
+    /**
+     * Methods and fields that are near the selection; other members that have source locations are not visited.
+     */
+    private Map<ASTNode, Boolean> candidateMembers;
+
     public ASTNodeFinder(Region sloc) {
         this.sloc = sloc;
     }
@@ -73,6 +80,12 @@ public class ASTNodeFinder extends ClassCodeVisitorSupport {
      */
     public ASTNode doVisit(ModuleNode node) {
         module = node;
+        candidateMembers = new IdentityHashMap<ASTNode, Boolean>();
+        for (ASTNode member : ModuleNodePositionIndex.get(node).findOverlappingNodes(sloc.getOffset() - 1, sloc.getEnd() + 1)) {
+            if (member instanceof MethodNode || member instanceof FieldNode) {
+                candidateMembers.put(member, Boolean.TRUE);
+            }
+        }
         try {
             visitPackage(node.getPackage());
             visitImports(node);
@@ -165,8 +178,18 @@ public class ASTNodeFinder extends ClassCodeVisitorSupport {
         }
     }
 
+    /**
+     * @return {@code true} if the member has a source location that is nowhere near the selection
+     */
+    protected boolean isSkippable(AnnotatedNode member) {
+        return candidateMembers != null && member.getEnd() > 0 && !candidateMembers.containsKey(member);
+    }
+
     @Override
     public void visitField(FieldNode node) {
+        if (isSkippable(node)) {
+            return;
+        }
         if (node.getNameEnd() > 0) {
             checkNameRange(node);
         }
@@ -186,6 +209,9 @@ public class ASTNodeFinder extends ClassCodeVisitorSupport {
 
     @Override
     protected void visitConstructorOrMethod(MethodNode node, boolean isConstructor) {
+        if (isSkippable(node)) {
+            return;
+        }
         if (node.getEnd() > 0) {
             if (!isConstructor && node.getGenericsTypes() != null) {
                 checkGenerics(node.getGenericsTypes(), null);
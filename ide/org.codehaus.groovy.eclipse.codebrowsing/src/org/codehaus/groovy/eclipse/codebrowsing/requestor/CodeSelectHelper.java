@@ -65,7 +65,7 @@ public class CodeSelectHelper implements ICodeSelectHelper {
 
                     CodeSelectRequestor requestor = createRequestor(node, region, select, unit);
                     TypeInferencingVisitorWithRequestor visitor = new TypeInferencingVisitorFactory().createVisitor(unit);
-                    visitor.visitCompilationUnit(requestor);
+                    visitCompilationUnit(visitor, requestor, node, select);
 
                     IJavaElement element = requestor.getRequestedElement();
                     if (element != null) {
@@ -108,7 +108,7 @@ public class CodeSelectHelper implements ICodeSelectHelper {
 
                     CodeSelectRequestor requestor = createRequestor(node, region, select, unit);
                     TypeInferencingVisitorWithRequestor visitor = new TypeInferencingVisitorFactory().createVisitor(unit);
-                    visitor.visitCompilationUnit(requestor);
+                    visitCompilationUnit(visitor, requestor, node, select);
                     return requestor.getRequestedNode();
                 }
             } finally {
@@ -120,6 +120,18 @@ public class CodeSelectHelper implements ICodeSelectHelper {
         return null;
     }
 
+    /**
+     * Only infers the types and members that enclose the selected node; the requestor stops the visit once the node is found.
+     */
+    protected static void visitCompilationUnit(TypeInferencingVisitorWithRequestor visitor, CodeSelectRequestor requestor, ASTNode node, Region select) {
+        int start = select.getOffset(), end = select.getEnd();
+        if (node.getEnd() > 0) {
+            start = Math.min(start, node.getStart());
+            end = Math.max(end, node.getEnd());
+        }
+        visitor.visitCompilationUnit(requestor, start, end);
+    }
+
     /**
      * Allows sub-classes to provide their own requestor.
      *
@@ -373,12 +373,24 @@ public class SyntheticAccessorSearchRequestor {
         engine.search(pattern, participants, scope, requestor, monitor);
     }
 
+    /**
+     * Combines the synthetic accessors (or the synthetic property) of the
+     * element into a single or-pattern so that the match locator makes one
+     * pass over the candidate files and the delegated Groovy inferencing runs
+     * once per file for all of the variants.
+     */
     private SearchPattern createPattern(IJavaElement element) throws JavaModelException {
         List<IJavaElement> toSearch = new ArrayList<IJavaElement>(4);
-        toSearch.add(findSyntheticMember(element, "is"));
-        toSearch.add(findSyntheticMember(element, "get"));
-        toSearch.add(findSyntheticMember(element, "set"));
-        toSearch.add(findSyntheticProperty(element));
+        if (element.getElementType() == IJavaElement.FIELD) {
+            toSearch.add(findSyntheticMember(element, "is"));
+            toSearch.add(findSyntheticMember(element, "get"));
+            // final properties never get a synthetic setter
+            if (!Flags.isFinal(((IField) element).getFlags())) {
+                toSearch.add(findSyntheticMember(element, "set"));
+            }
+        } else {
+            toSearch.add(findSyntheticProperty(element));
+        }
         SearchPattern pattern = null;
         for (IJavaElement searchElt : toSearch) {
             if (searchElt != null) {
@@ -386,7 +398,7 @@ public class SyntheticAccessorSearchRequestor {
                         | IJavaSearchConstants.IGNORE_RETURN_TYPE);
                 if (pattern == null) {
                     pattern = newPattern;
-                } else {
+                } else if (newPattern != null) {
                     pattern = SearchPattern.createOrPattern(pattern, newPattern);
                 }
             }
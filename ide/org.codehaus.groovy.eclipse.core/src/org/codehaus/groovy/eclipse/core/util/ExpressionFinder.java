@@ -39,9 +39,32 @@ public class ExpressionFinder {
      * @return The expression, or null if no suitable expression was found.
      */
     public String findForCompletions(ISourceBuffer sourceBuffer, int offset) throws ParseException {
+        return findForCompletions(sourceBuffer, offset, null);
+    }
+
+    /**
+     * Same as {@link #findForCompletions(ISourceBuffer, int)}, but reuses the expressions and tokens that were found in earlier
+     * requests on the same buffer, so only the tokens of the expression are walked rather than the characters before it.
+     *
+     * @param cache the cache for the buffer; may be null
+     */
+    public String findForCompletions(ISourceBuffer sourceBuffer, int offset, TokenCache cache) throws ParseException {
+        if (cache == null) {
+            return doFindForCompletions(sourceBuffer, offset, null);
+        }
+        String expression = cache.getExpression(offset);
+        if (expression == TokenCache.NOT_CACHED) {
+            int generation = cache.getGeneration();
+            expression = doFindForCompletions(sourceBuffer, offset, cache);
+            cache.putExpression(generation, offset, expression);
+        }
+        return expression;
+    }
+
+    private String doFindForCompletions(ISourceBuffer sourceBuffer, int offset, TokenCache cache) throws ParseException {
         Token token = null;
         int endOffset = 0;
-        TokenStream stream = new TokenStream(sourceBuffer, offset);
+        TokenStream stream = new TokenStream(sourceBuffer, offset, cache);
         try {
             token = stream.peek();
             if (token == null || token.isType(Token.Type.EOF)) {
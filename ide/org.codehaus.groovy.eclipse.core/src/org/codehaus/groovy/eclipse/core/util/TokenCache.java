@@ -0,0 +1,120 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.core.util;
+
+import java.util.TreeMap;
+
+/**
+ * Remembers the tokens that a {@link TokenStream} has scanned backwards from each offset of a single document, and the
+ * completion expressions that the {@link ExpressionFinder} has found ending at each offset. Repeated content assist requests
+ * on the same document then only walk the tokens of the expression instead of re-scanning the characters before it.
+ * <p>
+ * Backwards scanning from an offset only reads characters at or before that offset, so when the document changes only the
+ * entries at or after the start of the change are dropped; see {@link #invalidateFrom(int)}. The owner of the cache is
+ * responsible for calling it before the underlying text changes.
+ *
+ * @see ExpressionFinder#findForCompletions(org.codehaus.groovy.eclipse.core.ISourceBuffer, int, TokenCache)
+ */
+public class TokenCache {
+
+    /** Upper bound on the number of tokens or expressions kept before the cache starts over */
+    private static final int MAX_TOKENS = 5000;
+
+    /** Marker returned by {@link #getExpression(int)} for offsets that have not been looked at */
+    static final String NOT_CACHED = new String("<not cached>");
+
+    /**
+     * The state of a token stream after it has scanned a token from a given offset.
+     */
+    static class Entry {
+        final Token token;
+        final boolean setsLast;
+        final Token next;
+        final int offset;
+        final char ch;
+
+        Entry(Token token, boolean setsLast, Token next, int offset, char ch) {
+            this.token = token;
+            this.setsLast = setsLast;
+            this.next = next;
+            this.offset = offset;
+            this.ch = ch;
+        }
+    }
+
+    private final TreeMap<Integer, Entry> tokens = new TreeMap<Integer, Entry>();
+
+    private final TreeMap<Integer, String> expressions = new TreeMap<Integer, String>();
+
+    /** Incremented on every invalidation, so that results computed from older text are not recorded */
+    private int generation;
+
+    public synchronized int getGeneration() {
+        return generation;
+    }
+
+    synchronized Entry getToken(int offset) {
+        return tokens.get(offset);
+    }
+
+    synchronized void putToken(int generation, int offset, Entry entry) {
+        if (generation == this.generation) {
+            if (tokens.size() >= MAX_TOKENS) {
+                tokens.clear();
+            }
+            tokens.put(offset, entry);
+        }
+    }
+
+    /**
+     * @return the cached completion expression ending at the offset (which may be null), or {@link #NOT_CACHED}
+     */
+    synchronized String getExpression(int offset) {
+        if (!expressions.containsKey(offset)) {
+            return NOT_CACHED;
+        }
+        return expressions.get(offset);
+    }
+
+    synchronized void putExpression(int generation, int offset, String expression) {
+        if (generation == this.generation) {
+            if (expressions.size() >= MAX_TOKENS) {
+                expressions.clear();
+            }
+            expressions.put(offset, expression);
+        }
+    }
+
+    /**
+     * Drops everything that was scanned from the given offset or later. Must be called before the text at the offset changes.
+     */
+    public synchronized void invalidateFrom(int offset) {
+        generation += 1;
+        tokens.tailMap(offset).clear();
+        expressions.tailMap(offset).clear();
+    }
+
+    public synchronized void clear() {
+        generation += 1;
+        tokens.clear();
+        expressions.clear();
+    }
+
+    // visible for testing
+    synchronized int size() {
+        return tokens.size();
+    }
+}
@@ -39,10 +39,23 @@ public class TokenStream {
 
     private Token next = null;
 
+    private final TokenCache cache;
+
+    private final int generation;
+
     public TokenStream(ISourceBuffer buffer, int offset) {
+        this(buffer, offset, null);
+    }
+
+    /**
+     * @param cache tokens previously scanned from the same buffer; may be null
+     */
+    public TokenStream(ISourceBuffer buffer, int offset, TokenCache cache) {
         this.buffer = buffer;
         this.offset = offset;
         this.ch = buffer.charAt(offset);
+        this.cache = cache;
+        this.generation = cache != null ? cache.getGeneration() : 0;
     }
 
     /**
@@ -81,7 +94,33 @@ public class TokenStream {
         if (offset == -1) {
             return TOKEN_EOF;
         }
+        if (cache == null) {
+            return scan();
+        }
+
+        int start = offset;
+        TokenCache.Entry entry = cache.getToken(start);
+        if (entry != null) {
+            offset = entry.offset;
+            ch = entry.ch;
+            next = entry.next;
+            if (entry.setsLast) {
+                last = entry.token;
+            }
+            return entry.token;
+        }
+
+        Token prev = last;
+        Token ret = scan();
+        boolean setsLast = (last != prev);
+        // a token that was not scanned here depends on what came before, so it cannot be reused
+        if (setsLast || ret == TOKEN_EOF) {
+            cache.putToken(generation, start, new TokenCache.Entry(ret, setsLast, next, offset, ch));
+        }
+        return ret;
+    }
 
+    private Token scan() throws TokenStreamException {
         if (Character.isWhitespace(ch)) {
             skipWhite();
             if (offset == -1) {
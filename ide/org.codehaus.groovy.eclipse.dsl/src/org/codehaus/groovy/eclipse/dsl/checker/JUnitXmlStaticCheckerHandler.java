@@ -0,0 +1,123 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.dsl.checker;
+
+import java.io.PrintStream;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.text.Position;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Streams the results of static checking as a JUnit-style XML report. Each
+ * checked file becomes a test case and each problem a failure of that test
+ * case. Output is written as files are reported, so nothing is held in memory
+ * beyond the file currently being reported.
+ */
+public class JUnitXmlStaticCheckerHandler implements IStaticCheckerHandler {
+
+    private final PrintStream out;
+
+    private int numProblems = 0;
+
+    private int numFiles = 0;
+
+    private boolean inTestCase = false;
+
+    public JUnitXmlStaticCheckerHandler(PrintStream out, String suiteName) {
+        this.out = out;
+        out.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        out.println("<testsuite name=\"" + escape(suiteName) + "\">");
+    }
+
+    public void handleUnknownReference(ASTNode node, Position position, int line) {
+        numProblems++;
+        out.println("    <failure type=\"unknown\" message=\"" + escape("Line " + line + ": unknown type: " + node.getText()) + "\"/>");
+    }
+
+    public void handleTypeAssertionFailed(ASTNode node, String expectedType, String actualType, Position position, int line) {
+        numProblems++;
+        out.println("    <failure type=\"assertion\" message=\"" + escape("Line " + line + ": Invalid inferred type.  " + node.getText() +
+                "  Expected: " + expectedType + " Actual: " + actualType) + "\"/>");
+    }
+
+    public void setResource(IFile resource) {
+        endTestCase();
+        numFiles++;
+        IResource parent = resource.getParent();
+        out.println("  <testcase classname=\"" + escape(parent.getFullPath().toString()) + "\" name=\"" + escape(resource.getName()) + "\">");
+        inTestCase = true;
+    }
+
+    private void endTestCase() {
+        if (inTestCase) {
+            out.println("  </testcase>");
+            inTestCase = false;
+        }
+    }
+
+    public int numProblemsFound() {
+        return numProblems;
+    }
+
+    public void handleResourceStart(IResource resource) throws CoreException {
+        // do nothing
+    }
+
+    public boolean finish(Shell shell) {
+        endTestCase();
+        out.println("  <properties>");
+        out.println("    <property name=\"files\" value=\"" + numFiles + "\"/>");
+        out.println("    <property name=\"problems\" value=\"" + numProblems + "\"/>");
+        out.println("  </properties>");
+        out.println("</testsuite>");
+        out.flush();
+        if (out != System.out) {
+            out.close();
+        }
+        return numProblems == 0;
+    }
+
+    static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                case '\n':
+                    sb.append("&#10;");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2009-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.dsl.checker;
+
+import java.io.PrintStream;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.text.Position;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Streams the results of static checking as JSON. Each problem is written as
+ * soon as it is reported:
+ *
+ * <pre>
+ * { "problems": [
+ *     { "file": "/proj/src/Foo.groovy", "line": 3, "offset": 42, "length": 5, "kind": "unknown", "message": "..." }, ...
+ *   ],
+ *   "files": 10, "numProblems": 1 }
+ * </pre>
+ */
+public class JsonStaticCheckerHandler implements IStaticCheckerHandler {
+
+    private final PrintStream out;
+
+    private IFile resource;
+
+    private int numProblems = 0;
+
+    private int numFiles = 0;
+
+    public JsonStaticCheckerHandler(PrintStream out) {
+        this.out = out;
+        out.println("{ \"problems\": [");
+    }
+
+    public void handleUnknownReference(ASTNode node, Position position, int line) {
+        writeProblem("unknown", "unknown type: " + node.getText(), position, line);
+    }
+
+    public void handleTypeAssertionFailed(ASTNode node, String expectedType, String actualType, Position position, int line) {
+        writeProblem("assertion", "Invalid inferred type.  " + node.getText() + "  Expected: " + expectedType + " Actual: " + actualType,
+                position, line);
+    }
+
+    private void writeProblem(String kind, String message, Position position, int line) {
+        if (numProblems > 0) {
+            out.println(",");
+        }
+        numProblems++;
+        out.print("    { \"file\": " + quote(resource.getFullPath().toString()) + ", \"line\": " + line +
+                ", \"offset\": " + position.offset + ", \"length\": " + position.length +
+                ", \"kind\": " + quote(kind) + ", \"message\": " + quote(message) + " }");
+    }
+
+    public void setResource(IFile resource) {
+        this.resource = resource;
+        numFiles++;
+    }
+
+    public int numProblemsFound() {
+        return numProblems;
+    }
+
+    public void handleResourceStart(IResource resource) throws CoreException {
+        // do nothing
+    }
+
+    public boolean finish(Shell shell) {
+        out.println();
+        out.println("  ],");
+        out.println("  \"files\": " + numFiles + ", \"numProblems\": " + numProblems + " }");
+        out.flush();
+        if (out != System.out) {
+            out.close();
+        }
+        return numProblems == 0;
+    }
+
+    static String quote(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 2);
+        sb.append('"');
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -15,13 +15,28 @@
  */
 package org.codehaus.groovy.eclipse.dsl.checker;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.Comment;
+import org.codehaus.groovy.eclipse.dsl.GroovyDSLCoreActivator;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.GroovyNature;
 import org.eclipse.core.resources.IFile;
@@ -31,13 +46,17 @@ import org.eclipse.core.resources.IResourceVisitor;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.groovy.core.util.ContentTypeUtils;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor;
 import org.eclipse.jdt.internal.core.util.Util;
+import org.eclipse.jface.text.Position;
+import org.eclipse.swt.widgets.Shell;
 
 /**
  * Performs static checking on all groovy files contained in the resource passed in
@@ -49,8 +68,12 @@ public class ResourceTypeChecker {
     class CheckerVisitor implements IResourceVisitor {
         private IProgressMonitor monitor;
 
-        CheckerVisitor(IProgressMonitor monitor) {
+        /** if non-null, units are collected here instead of being checked */
+        private final List<GroovyCompilationUnit> toCheck;
+
+        CheckerVisitor(IProgressMonitor monitor, List<GroovyCompilationUnit> toCheck) {
             this.monitor = monitor;
+            this.toCheck = toCheck;
         }
 
         public boolean visit(IResource resource) throws CoreException {
@@ -70,59 +93,116 @@ public class ResourceTypeChecker {
                     if (monitor.isCanceled()) {
                         throw new OperationCanceledException();
                     }
-                    monitor.subTask(resource.getName());
-                    handler.setResource((IFile) resource);
-                    Map<Integer, String> commentsMap = findComments(unit);
-                    StaticTypeCheckerRequestor requestor = new StaticTypeCheckerRequestor(handler, commentsMap, onlyAssertions);
-                    TypeInferencingVisitorWithRequestor visitor = new TypeInferencingVisitorFactory().createVisitor(unit);
-                    try {
-                        unit.becomeWorkingCopy(monitor);
-                        visitor.visitCompilationUnit(requestor);
-                    } finally {
-                        unit.discardWorkingCopy();
+                    if (toCheck != null) {
+                        toCheck.add(unit);
+                    } else {
+                        monitor.subTask(resource.getName());
+                        checkUnit(unit, handler, monitor);
                     }
                 }
             }
             return true;
         }
+    }
 
-        private Map<Integer, String> findComments(GroovyCompilationUnit unit) {
-            List<Comment> comments = unit.getModuleNode().getContext().getComments();
-            Map<Integer, String> allComments = new HashMap<Integer, String>(comments.size());
-            for (Comment comment : comments) {
-                StringTokenizer stok = new StringTokenizer(comment.toString());
-                String type = null;
-                if (stok.hasMoreTokens()) {
-                    // consume the comment start
-                    String val = stok.nextToken();
-                    int typeIndex = val.indexOf("TYPE:");
-                    if (typeIndex > 0) {
-                        type = val.substring(typeIndex + "TYPE:".length());
-                        if (type.length() == 0) {
-                            type = null;
-                        }
-                    }
+    /**
+     * Records the problems found in a single file so that a worker thread can
+     * check the file without touching the shared handler. The problems are
+     * replayed into the real handler on the thread that drives the check.
+     */
+    static class BufferingHandler implements IStaticCheckerHandler {
+        private final IFile file;
+        private final List<Object[]> problems = new ArrayList<Object[]>();
+
+        BufferingHandler(IFile file) {
+            this.file = file;
+        }
+
+        public void handleUnknownReference(ASTNode node, Position position, int line) {
+            problems.add(new Object[] { node, position, line });
+        }
+
+        public void handleTypeAssertionFailed(ASTNode node, String expectedType, String actualType, Position position, int line) {
+            problems.add(new Object[] { node, position, line, expectedType, actualType });
+        }
+
+        public void setResource(IFile resource) {
+        }
+
+        public int numProblemsFound() {
+            return problems.size();
+        }
+
+        public void handleResourceStart(IResource resource) throws CoreException {
+        }
+
+        public boolean finish(Shell shell) {
+            return problems.isEmpty();
+        }
+
+        void replay(IStaticCheckerHandler handler) {
+            handler.setResource(file);
+            for (Object[] problem : problems) {
+                if (problem.length == 3) {
+                    handler.handleUnknownReference((ASTNode) problem[0], (Position) problem[1], (Integer) problem[2]);
+                } else {
+                    handler.handleTypeAssertionFailed((ASTNode) problem[0], (String) problem[3], (String) problem[4],
+                            (Position) problem[1], (Integer) problem[2]);
                 }
-                String candidate;
-                if (stok.hasMoreTokens() && (candidate = stok.nextToken()).startsWith("TYPE:")) {
-                    // may or may not have a space after the colon
-                    if (candidate.equals("TYPE:")) {
-                        if (stok.hasMoreTokens()) {
-                            type = stok.nextToken();
-                        }
-                    } else {
-                        String[] split = candidate.split("\\:");
-                        type = split[1];
+            }
+        }
+    }
+
+    private void checkUnit(GroovyCompilationUnit unit, IStaticCheckerHandler unitHandler, IProgressMonitor monitor) throws CoreException {
+        unitHandler.setResource((IFile) unit.getResource());
+        try {
+            // comments are read from the working copy so the unit is only parsed once
+            unit.becomeWorkingCopy(monitor);
+            Map<Integer, String> commentsMap = findComments(unit);
+            StaticTypeCheckerRequestor requestor = new StaticTypeCheckerRequestor(unitHandler, commentsMap, onlyAssertions);
+            TypeInferencingVisitorWithRequestor visitor = new TypeInferencingVisitorFactory().createVisitor(unit);
+            visitor.visitCompilationUnit(requestor);
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+
+    private Map<Integer, String> findComments(GroovyCompilationUnit unit) {
+        List<Comment> comments = unit.getModuleNode().getContext().getComments();
+        Map<Integer, String> allComments = new HashMap<Integer, String>(comments.size());
+        for (Comment comment : comments) {
+            StringTokenizer stok = new StringTokenizer(comment.toString());
+            String type = null;
+            if (stok.hasMoreTokens()) {
+                // consume the comment start
+                String val = stok.nextToken();
+                int typeIndex = val.indexOf("TYPE:");
+                if (typeIndex > 0) {
+                    type = val.substring(typeIndex + "TYPE:".length());
+                    if (type.length() == 0) {
+                        type = null;
                     }
                 }
-                if (type != null) {
-                    allComments.put(comment.sline, type);
+            }
+            String candidate;
+            if (stok.hasMoreTokens() && (candidate = stok.nextToken()).startsWith("TYPE:")) {
+                // may or may not have a space after the colon
+                if (candidate.equals("TYPE:")) {
+                    if (stok.hasMoreTokens()) {
+                        type = stok.nextToken();
+                    }
+                } else {
+                    String[] split = candidate.split("\\:");
+                    type = split[1];
                 }
             }
-            return allComments;
+            if (type != null) {
+                allComments.put(comment.sline, type);
+            }
         }
+        return allComments;
     }
-    
+
     private final IStaticCheckerHandler handler;
     private final List<IResource> resources;
 
@@ -165,10 +245,105 @@ public class ResourceTypeChecker {
             if (monitor.isCanceled()) {
                 throw new OperationCanceledException();
             }
-            CheckerVisitor visitor = new CheckerVisitor(monitor);
+            CheckerVisitor visitor = new CheckerVisitor(monitor, null);
             resource.accept(visitor);
             monitor.worked(1);
         }
         return handler.finish(null);
     }
+
+    /**
+     * Performs the type checking on the selected resources using a pool of worker threads. Each file is checked on a single
+     * worker with its own inferencing visitor. Results are handed to the handler on the calling thread as soon as each file
+     * is finished, so the handler need not be thread-safe and results are not accumulated in memory.
+     *
+     * @param monitor progress monitor, can be null
+     * @param numThreads number of worker threads; 1 or less checks sequentially
+     * @return true iff no type problems were found
+     * @throws CoreException
+     */
+    public boolean doCheck(IProgressMonitor monitor, int numThreads) throws CoreException {
+        if (numThreads <= 1) {
+            return doCheck(monitor);
+        }
+        if (monitor == null) {
+            monitor = new NullProgressMonitor();
+        }
+
+        List<GroovyCompilationUnit> units = new ArrayList<GroovyCompilationUnit>();
+        for (IResource resource : resources) {
+            if (monitor.isCanceled()) {
+                throw new OperationCanceledException();
+            }
+            resource.accept(new CheckerVisitor(monitor, units));
+        }
+        monitor.beginTask("Static type analysis", units.size());
+
+        // warm the DSLD stores up front so that workers don't race to initialize them
+        Set<IProject> projects = new LinkedHashSet<IProject>();
+        for (GroovyCompilationUnit unit : units) {
+            projects.add(unit.getJavaProject().getProject());
+        }
+        for (IProject project : projects) {
+            GroovyDSLCoreActivator.getDefault().getContextStoreManager().ensureInitialized(project, true);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "Static type checker " + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            CompletionService<BufferingHandler> completion = new ExecutorCompletionService<BufferingHandler>(executor);
+            for (final GroovyCompilationUnit unit : units) {
+                completion.submit(new Callable<BufferingHandler>() {
+                    public BufferingHandler call() throws Exception {
+                        BufferingHandler buffer = new BufferingHandler((IFile) unit.getResource());
+                        checkUnit(unit, buffer, new NullProgressMonitor());
+                        return buffer;
+                    }
+                });
+            }
+            for (int i = 0, n = units.size(); i < n; i++) {
+                BufferingHandler result = null;
+                while (result == null) {
+                    if (monitor.isCanceled()) {
+                        throw new OperationCanceledException();
+                    }
+                    try {
+                        Future<BufferingHandler> future = completion.poll(100, TimeUnit.MILLISECONDS);
+                        if (future != null) {
+                            result = future.get();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new OperationCanceledException();
+                    } catch (ExecutionException e) {
+                        // fail the same way as the sequential check does
+                        Throwable cause = e.getCause();
+                        if (cause instanceof CoreException) {
+                            throw (CoreException) cause;
+                        }
+                        if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        }
+                        if (cause instanceof Error) {
+                            throw (Error) cause;
+                        }
+                        throw new CoreException(new Status(IStatus.ERROR, GroovyDSLCoreActivator.PLUGIN_ID, "Static type checking failed", cause));
+                    }
+                }
+                monitor.subTask(result.file.getName());
+                result.replay(handler);
+                monitor.worked(1);
+            }
+        } finally {
+            executor.shutdownNow();
+            monitor.done();
+        }
+        return handler.finish(null);
+    }
 }
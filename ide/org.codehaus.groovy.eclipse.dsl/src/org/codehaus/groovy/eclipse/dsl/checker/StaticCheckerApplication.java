@@ -72,9 +72,9 @@ public class StaticCheckerApplication implements IApplication {
             System.out.println("Performing static type checking on project " + projectName);
             boolean success = false;
             try {
-                IStaticCheckerHandler handler = new SysoutStaticCheckerHandler(resultFile == null ? System.out : createOutStream(resultFile));
+                IStaticCheckerHandler handler = createHandler(resultFile == null ? System.out : createOutStream(resultFile));
                 ResourceTypeChecker checker = new ResourceTypeChecker(handler, projectName, inclusionFilters, exclusionFilters, assertionsOnly);
-                success = checker.doCheck(null);
+                success = checker.doCheck(null, numThreads);
             } catch (Exception e) {
                 e.printStackTrace();
             } finally {
@@ -127,6 +127,8 @@ public class StaticCheckerApplication implements IApplication {
     private String projectFolderPath;
     Display display;
     private String resultFile;
+    private String reportFormat = "text";
+    private int numThreads = 1;
     
     public Object start(IApplicationContext context) throws Exception {
         processCommandLine((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
@@ -144,6 +146,15 @@ public class StaticCheckerApplication implements IApplication {
         return new PrintStream(new File(fileName));
     }
 
+    private IStaticCheckerHandler createHandler(PrintStream out) {
+        if (reportFormat.equals("junit")) {
+            return new JUnitXmlStaticCheckerHandler(out, projectName);
+        } else if (reportFormat.equals("json")) {
+            return new JsonStaticCheckerHandler(out);
+        }
+        return new SysoutStaticCheckerHandler(out);
+    }
+
     public void stop() {
         removeExtraDslds();
     }
@@ -255,6 +266,36 @@ public class StaticCheckerApplication implements IApplication {
                     break;
                 }
                 resultFile = args[++i];
+            } else if (arg.equals("--report_format")) {
+                if (i == args.length-1) {
+                    System.err.println("Missing --report_format argument");
+                    doHelp = true;
+                    break;
+                }
+                reportFormat = args[++i];
+                if (!reportFormat.equals("text") && !reportFormat.equals("junit") && !reportFormat.equals("json")) {
+                    System.err.println("Invalid --report_format argument: " + reportFormat);
+                    doHelp = true;
+                    break;
+                }
+            } else if (arg.equals("--threads")) {
+                if (i == args.length-1) {
+                    System.err.println("Missing --threads argument");
+                    doHelp = true;
+                    break;
+                }
+                String threads = args[++i];
+                if (threads.equals("auto")) {
+                    numThreads = Runtime.getRuntime().availableProcessors();
+                } else {
+                    try {
+                        numThreads = Integer.parseInt(threads);
+                    } catch (NumberFormatException e) {
+                        System.err.println("Invalid --threads argument: " + threads);
+                        doHelp = true;
+                        break;
+                    }
+                }
             }
         }
         
@@ -285,7 +326,7 @@ public class StaticCheckerApplication implements IApplication {
         }
         
         System.out.println("Usage:");
-        System.out.println("eclipse -application org.codehause.groovy.eclipse.staticCheck [--help] [-h] [--extra_dslds <FILES>] [--assertions_only] [--excludes <PATH>] [--includes <PATH>] [--project_path <PATH>] <PROJECT_NAME>");
+        System.out.println("eclipse -application org.codehause.groovy.eclipse.staticCheck [--help] [-h] [--extra_dslds <FILES>] [--assertions_only] [--excludes <PATH>] [--includes <PATH>] [--project_path <PATH>] [--result_file <FILE>] [--report_format <FORMAT>] [--threads <N>] <PROJECT_NAME>");
         System.out.println("where:");
         System.out.println("\t--help OR -h  Print this message and exit.");
         System.out.println("\t--extra_dslds  list of extra dsld files to be included in this check.  Use '|' as a file separator.");
@@ -294,6 +335,8 @@ public class StaticCheckerApplication implements IApplication {
         System.out.println("\t--includes  Project-relative inclusion filters.");
         System.out.println("\t--project_path  File system path to the project to check (only required if project is not already in workspace).");
         System.out.println("\t--result_file  File to send static checking results to.  If not specified, then results sent to sysout.");
+        System.out.println("\t--report_format  Format of the results: 'text' (default), 'junit' for JUnit XML or 'json'.  Results are written as each file is checked.");
+        System.out.println("\t--threads  Number of files to check in parallel, or 'auto' for one per processor.  Default is 1.");
         System.out.println("\t<PROJECT_NAME>  Name of a project to type check.  If not already in workspace, then must also use '--project_path'.");
         System.out.println();
         System.out.println("Ant style filters are allowed.  Eg, src/org/codehaus/groovy/**/*.groovy means all files with groovy extensions in the org.codehaus.groovy package or below will be ex/included   Filters can be concentenated using '|'.");
@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.eclipse.codeassist.relevance.RelevanceRules;
 import org.codehaus.groovy.eclipse.quickfix.GroovyQuickFixPlugin;
 import org.codehaus.groovy.eclipse.refactoring.actions.TypeSearch;
@@ -44,6 +45,9 @@ import org.eclipse.text.edits.TextEdit;
  * be imported, the resolver will generate 5 different proposals, one for each
  * suggested type. Each proposal has its own display string indicating which
  * type will be imported.
+ * <p>
+ * The type searches are shared by all the resolvers of a module node, so each
+ * unresolved simple name is searched for once per reconcile of the unit.
  *
  * @author Nieraj Singh
  */
@@ -129,7 +133,7 @@ public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
             if (simpleTypeName != null) {
                 Map<String, UnresolvedTypeData> unresolvedTypes = new HashMap<String, UnresolvedTypeData>();
                 unresolvedTypes.put(simpleTypeName, new UnresolvedTypeData(simpleTypeName, false, new SourceRange(offset, simpleTypeName.length())));
-                new TypeSearch().searchForTypes(getGroovyCompilationUnit(), unresolvedTypes);
+                getTypeSearch().searchForTypes(getGroovyCompilationUnit(), unresolvedTypes);
                 UnresolvedTypeData foundData = unresolvedTypes.get(simpleTypeName);
                 List<TypeNameMatch> matches = foundData.getFoundInfos();
                 if (matches != null) {
@@ -146,6 +150,31 @@ public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
         return null;
     }
 
+    /**
+     * @return the type search kept with the current module node of the unit,
+     *         which is replaced by the next reconcile; units that are not
+     *         working copies get a new type search, since their module nodes
+     *         are shared through the closed module node cache
+     */
+    protected TypeSearch getTypeSearch() {
+        GroovyCompilationUnit unit = getGroovyCompilationUnit();
+        if (!unit.isWorkingCopy()) {
+            return new TypeSearch();
+        }
+        ModuleNode module = unit.getModuleNode();
+        if (module == null) {
+            return new TypeSearch();
+        }
+        synchronized (module) {
+            TypeSearch typeSearch = (TypeSearch) module.getNodeMetaData(TypeSearch.class);
+            if (typeSearch == null) {
+                typeSearch = new TypeSearch();
+                module.putNodeMetaData(TypeSearch.class, typeSearch);
+            }
+            return typeSearch;
+        }
+    }
+
     /**
      * Obtain the simple name of the unresolved type from the quick fix problem
      *
@@ -16,7 +16,7 @@
 package org.codehaus.groovy.eclipse.quickfix.proposals;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,14 +26,29 @@ import java.util.Map;
  * For a given problem, this registry will look up potential resolvers that can
  * provide a quick fix solution for the problem. There may be more than one
  * resolver that can handle the problem </br>
+ * <p>
+ * The registered resolver factories are indexed by problem type once, so only
+ * the resolvers that can handle the problem are created, and only once per
+ * registry instance.
+ * </p>
  * 
  * @author Nieraj Singh
  * 
  */
 public class GroovyQuickFixResolverRegistry {
 
+	/**
+	 * Creates the resolver of one kind for a given problem.
+	 */
+	protected static abstract class ResolverFactory {
+		protected abstract IQuickFixResolver create(QuickFixProblemContext problem);
+	}
+
+	private static Map<ProblemType, List<ResolverFactory>> factoryIndex;
+
 	private QuickFixProblemContext problem;
-	private Map<ProblemType, List<IQuickFixResolver>> registry;
+	private List<IQuickFixResolver> resolvers;
+	private boolean resolversCreated;
 
 	/**
 	 * 
@@ -63,64 +78,94 @@ public class GroovyQuickFixResolverRegistry {
 
 	    ProblemDescriptor descriptor = getQuickFixProblem()
 				.getProblemDescriptor();
+		if (descriptor == null) {
+			return null;
+		}
 
-		return descriptor != null ? getRegistry().get(descriptor.getType()) : null;
+		if (!resolversCreated) {
+			List<ResolverFactory> factories = getFactoryIndex().get(descriptor.getType());
+			if (factories != null) {
+				resolvers = new ArrayList<IQuickFixResolver>(factories.size());
+				for (ResolverFactory factory : factories) {
+					resolvers.add(factory.create(getQuickFixProblem()));
+				}
+			}
+			resolversCreated = true;
+		}
+		return resolvers;
 	}
 
 	/**
-	 * Gets all the registered quick fix resolvers mapped to a particular
-	 * problem descriptor. Therefore a problem descriptor may be associated with
-	 * multiple resolvers.
+	 * Gets all the registered resolver factories mapped to the problem types
+	 * their resolvers can handle. Built on first use; the problem types of a
+	 * resolver do not depend on the problem it is created for, so they are
+	 * read from resolvers created without one.
 	 * 
-	 * @return non-null registry of quick fix resolvers. May be empty.
+	 * @return non-null index of resolver factories. May be empty.
 	 */
-	protected Map<ProblemType, List<IQuickFixResolver>> getRegistry() {
-		if (registry == null) {
-			registry = new HashMap<ProblemType, List<IQuickFixResolver>>();
+	protected static synchronized Map<ProblemType, List<ResolverFactory>> getFactoryIndex() {
+		if (factoryIndex == null) {
+			Map<ProblemType, List<ResolverFactory>> index = new EnumMap<ProblemType, List<ResolverFactory>>(ProblemType.class);
 
-			IQuickFixResolver[] registeredResolvers = getRegisteredResolvers(getQuickFixProblem());
-
-			for (IQuickFixResolver resolver : registeredResolvers) {
-				List<ProblemType> types = resolver.getProblemTypes();
+			for (ResolverFactory factory : getRegisteredFactories()) {
+				List<ProblemType> types = factory.create(null).getProblemTypes();
 				for (ProblemType type : types) {
-					List<IQuickFixResolver> resolvers = registry.get(type);
-					if (resolvers == null) {
-						resolvers = new ArrayList<IQuickFixResolver>();
-						registry.put(type, resolvers);
+					List<ResolverFactory> factories = index.get(type);
+					if (factories == null) {
+						factories = new ArrayList<ResolverFactory>();
+						index.put(type, factories);
 					}
-					resolvers.add(resolver);
+					factories.add(factory);
 				}
 			}
+			factoryIndex = index;
 		}
 
-		return registry;
+		return factoryIndex;
 	}
 
 	/**
 	 * Should never be null. Return empty array if none are registered.
 	 * 
-	 * @param problem
-	 *            for which quick fix resolvers should be obtained.
-	 * @return non null list of resolvers for the given problem. Return empty if
-	 *         nothing is found
+	 * @return non null list of factories for the registered resolvers. Return
+	 *         empty if nothing is registered
 	 */
-	protected static IQuickFixResolver[] getRegisteredResolvers(
-	        QuickFixProblemContext problem) {
-		return new IQuickFixResolver[] {
+	protected static ResolverFactory[] getRegisteredFactories() {
+		return new ResolverFactory[] {
 				// Convert to groovy
-				new ConvertToGroovyFileResolver(problem),
+				new ResolverFactory() {
+					protected IQuickFixResolver create(QuickFixProblemContext problem) {
+						return new ConvertToGroovyFileResolver(problem);
+					}
+				},
 
 				// Add missing Groovy imports
-				new AddMissingGroovyImportsResolver(problem),
-				
+				new ResolverFactory() {
+					protected IQuickFixResolver create(QuickFixProblemContext problem) {
+						return new AddMissingGroovyImportsResolver(problem);
+					}
+				},
+
 				// Add Groovy runtime
-				new AddGroovyRuntimeResolver(problem),
-				
+				new ResolverFactory() {
+					protected IQuickFixResolver create(QuickFixProblemContext problem) {
+						return new AddGroovyRuntimeResolver(problem);
+					}
+				},
+
 				// Add unimplemented abstract methods
-				new AddUnimplementedResolver(problem),
+				new ResolverFactory() {
+					protected IQuickFixResolver create(QuickFixProblemContext problem) {
+						return new AddUnimplementedResolver(problem);
+					}
+				},
 
 				// Add class cast
-				new AddClassCastResolver(problem),
+				new ResolverFactory() {
+					protected IQuickFixResolver create(QuickFixProblemContext problem) {
+						return new AddClassCastResolver(problem);
+					}
+				},
 		};
 	}
 
@@ -15,6 +15,11 @@
  */
 package org.codehaus.groovy.eclipse.refactoring.formatter;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Vector;
 import java.util.regex.Matcher;
@@ -34,6 +39,7 @@ import org.codehaus.groovy.eclipse.core.GroovyCore;
 import org.codehaus.groovy.eclipse.refactoring.core.utils.ASTTools;
 import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.ASTNodeInfo;
 import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.ASTScanner;
+import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.predicates.IASTNodePredicate;
 import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.predicates.IncludesClosureOrListPredicate;
 import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.predicates.SourceCodePredicate;
 import org.eclipse.jface.text.BadLocationException;
@@ -62,6 +68,9 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
     private KlenkDocumentScanner tokens;
     private int indentationLevel = 0;
 
+    /** AST nodes of {@link #rootNode} by start line and column, in visit order; built on first use */
+    private Map<Long, List<Entry<ASTNode, ASTNodeInfo>>> nodesByPosition;
+
     /**
      * Default Formatter for the Groovy-Eclipse Plugin
      *
@@ -107,6 +116,7 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
         GroovyCore.trace(formattedDocument.get());
         tokens = new KlenkDocumentScanner(formattedDocument);
         rootNode = ASTTools.getASTNodeFromSource(formattedDocument.get());
+        nodesByPosition = null;
         if (rootNode == null) {
             // caused by unparseable file
             throw new Exception("Could not format.  Problem parsing Compilation unit.  Fix all syntax errors and try again.");
@@ -120,13 +130,19 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
             if (!indentOnly) {
                 initCodebase();
                 GroovyBeautifier beautifier = new GroovyBeautifier(this, pref);
-                int lengthBefore = formattedDocument.getLength();
+                String textBefore = formattedDocument.get();
                 beautifier.getBeautifiEdits().apply(formattedDocument);
-                int lengthAfter = formattedDocument.getLength();
-                formatLength += lengthAfter - lengthBefore;
+                formatLength += formattedDocument.getLength() - textBefore.length();
+                // the beautifier disposes the tokens, but the AST only needs to be reparsed if beautifying changed anything
+                if (!formattedDocument.get().equals(textBefore)) {
+                    initCodebase();
+                } else {
+                    tokens = new KlenkDocumentScanner(formattedDocument);
+                }
+            } else {
+                initCodebase();
             }
 
-            initCodebase();
             GroovyIndentation indent = new GroovyIndentation(this, pref, indentationLevel);
             UndoEdit undo = indent.getIndentationEdits().apply(formattedDocument);
             formatLength += undo.getLength();
@@ -134,11 +150,50 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
             GroovyCore.logWarning("Cannot format, probably due to compilation errors.  Please fix and try again.", e);
         }
 
-        if (formattedDocument.get().equals(document.get())) {
-            return new MultiTextEdit();
-        }
+        return createMinimalEdit(document.get(), formattedDocument.get());
+    }
 
-        return new ReplaceEdit(0, document.getLength(), formattedDocument.get());
+    /**
+     * Creates the edit that changes the original text into the formatted text. Formatting mostly changes whitespace, so the
+     * two texts are walked in parallel and each differing run of whitespace becomes its own {@link ReplaceEdit}. This keeps
+     * markers and positions outside of the changed regions intact. If the texts differ in anything other than whitespace
+     * (eg- a removed semicolon), everything from there up to the common suffix is replaced by one edit.
+     * <p>
+     * Not API, for testing only.
+     */
+    public static TextEdit createMinimalEdit(String original, String formatted) {
+        MultiTextEdit edits = new MultiTextEdit();
+        int originalLength = original.length(), formattedLength = formatted.length();
+        int i = 0, j = 0;
+        while (i < originalLength || j < formattedLength) {
+            int wsStart = i, formattedWsStart = j;
+            while (i < originalLength && Character.isWhitespace(original.charAt(i))) {
+                i += 1;
+            }
+            while (j < formattedLength && Character.isWhitespace(formatted.charAt(j))) {
+                j += 1;
+            }
+            boolean atEnd = (i == originalLength && j == formattedLength);
+            if (!atEnd && (i == originalLength || j == formattedLength || original.charAt(i) != formatted.charAt(j))) {
+                // not just whitespace; replace the rest of the differing region in one go
+                int end = originalLength, formattedEnd = formattedLength;
+                while (end > wsStart && formattedEnd > formattedWsStart && original.charAt(end - 1) == formatted.charAt(formattedEnd - 1)) {
+                    end -= 1;
+                    formattedEnd -= 1;
+                }
+                edits.addChild(new ReplaceEdit(wsStart, end - wsStart, formatted.substring(formattedWsStart, formattedEnd)));
+                break;
+            }
+            if (i - wsStart != j - formattedWsStart || !original.regionMatches(wsStart, formatted, formattedWsStart, i - wsStart)) {
+                edits.addChild(new ReplaceEdit(wsStart, i - wsStart, formatted.substring(formattedWsStart, j)));
+            }
+            if (atEnd) {
+                break;
+            }
+            i += 1;
+            j += 1;
+        }
+        return edits;
     }
 
     /**
@@ -222,17 +277,10 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
      *         length
      */
     public ASTNode findCorrespondingNode(Token t) {
-
-        ASTScanner scanner = new ASTScanner(rootNode,
-                                            new SourceCodePredicate(t.getLine(), t.getColumn()),
-                                            formattedDocument);
-        scanner.startASTscan();
         Entry<ASTNode, ASTNodeInfo> found = null;
-        if (scanner.hasMatches()) {
-            for (Entry<ASTNode, ASTNodeInfo> e : scanner.getMatchedNodes().entrySet()) {
-                if (found == null || (found.getValue().getLength() < e.getValue().getLength()))
-                    found = e;
-            }
+        for (Entry<ASTNode, ASTNodeInfo> e : getNodesStartingAt(t.getLine(), t.getColumn())) {
+            if (found == null || (found.getValue().getLength() < e.getValue().getLength()))
+                found = e;
         }
 
         if (found != null) {
@@ -250,17 +298,47 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
      * @return
      */
     public ClosureExpression findCorrespondingClosure(Token t) {
-        ASTScanner scanner = new ASTScanner(rootNode, new SourceCodePredicate(t.getLine(), t.getColumn()), formattedDocument);
-        scanner.startASTscan();
         ClosureExpression found = null;
-        if (scanner.hasMatches()) {
+        for (Entry<ASTNode, ASTNodeInfo> e : getNodesStartingAt(t.getLine(), t.getColumn())) {
+            if (e.getKey() instanceof ClosureExpression) {
+                found = (ClosureExpression) e.getKey();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the nodes that a {@link SourceCodePredicate} scan for the given position would match, in the same order. The
+     * AST is scanned once and indexed by position, instead of once per token.
+     */
+    private List<Entry<ASTNode, ASTNodeInfo>> getNodesStartingAt(int line, int column) {
+        if (nodesByPosition == null) {
+            ASTScanner scanner = new ASTScanner(rootNode, new IASTNodePredicate() {
+                public ASTNode evaluate(ASTNode input) {
+                    return input;
+                }
+            }, formattedDocument);
+            scanner.startASTscan();
+            nodesByPosition = new HashMap<Long, List<Entry<ASTNode, ASTNodeInfo>>>();
             for (Entry<ASTNode, ASTNodeInfo> e : scanner.getMatchedNodes().entrySet()) {
-                if (e.getKey() instanceof ClosureExpression) {
-                    found = (ClosureExpression) e.getKey();
+                Long key = positionKey(e.getKey().getLineNumber(), e.getKey().getColumnNumber());
+                List<Entry<ASTNode, ASTNodeInfo>> nodes = nodesByPosition.get(key);
+                if (nodes == null) {
+                    nodes = new ArrayList<Entry<ASTNode, ASTNodeInfo>>(2);
+                    nodesByPosition.put(key, nodes);
                 }
+                nodes.add(e);
             }
         }
-        return found;
+        List<Entry<ASTNode, ASTNodeInfo>> nodes = nodesByPosition.get(positionKey(line, column));
+        if (nodes == null) {
+            return Collections.emptyList();
+        }
+        return nodes;
+    }
+
+    private static Long positionKey(int line, int column) {
+        return Long.valueOf(((long) line << 32) | (column & 0xFFFFFFFFL));
     }
     /**
      * Return a token after many () if there is no opening {
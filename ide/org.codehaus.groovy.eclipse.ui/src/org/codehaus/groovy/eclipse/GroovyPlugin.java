@@ -120,6 +120,10 @@ public class GroovyPlugin extends AbstractUIPlugin {
         if (getPreferenceStore().getBoolean(PreferenceConstants.GROOVY_DEBUG_FORCE_DEBUG_OPTIONS_ON_STARTUP)) {
             new GroovyDebugOptionsEnforcer().maybeForce(getPreferenceStore());
         }
+
+        if (PlatformUI.isWorkbenchRunning()) {
+            org.eclipse.jdt.groovy.core.Activator.getDefault().scheduleModuleNodeReload();
+        }
     }
 
     @Override
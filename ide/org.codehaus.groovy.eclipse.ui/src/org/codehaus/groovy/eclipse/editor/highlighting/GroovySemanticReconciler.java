@@ -33,6 +33,7 @@ import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaSourceViewer;
@@ -75,6 +76,7 @@ public class GroovySemanticReconciler implements IJavaReconcilingListener {
     private static Method GET_HIGHLIGHTING = null;
     private static Constructor<?> HIGHLIGHTING_STYLE;
     private static Constructor<?> HIGHLIGHTED_POSITION;
+    private static final FieldAccessor POSITIONS = ReflectionUtils.getFieldAccessor(SemanticHighlightingPresenter.class, "fPositions");
     static {
         try {
             Class<?> style = Class.forName("org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager$Highlighting");
@@ -264,7 +266,7 @@ public class GroovySemanticReconciler implements IJavaReconcilingListener {
     @SuppressWarnings("unchecked")
     private List<Position> getHighlightedPositions() {
         // NOTE: Be very careful with this; fPositions is often accessed synchronously!
-        return (List<Position>) ReflectionUtils.getPrivateField(SemanticHighlightingPresenter.class, "fPositions", presenter);
+        return (List<Position>) POSITIONS.get(presenter);
     }
 
     private Position newHighlightedPosition(HighlightedTypedPosition pos) {
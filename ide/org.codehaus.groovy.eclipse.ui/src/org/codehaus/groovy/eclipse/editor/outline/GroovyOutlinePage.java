@@ -49,7 +49,10 @@ public class GroovyOutlinePage extends JavaOutlinePage {
     public void refresh() {
         initializeViewer();
 
-        outlineUnit.refresh();
+        // called whenever the caret moves, so only do any work if the outline structure has changed
+        if (!outlineUnit.refreshIfChanged()) {
+            return;
+        }
 
         JavaOutlineViewer outlineViewer = getOutlineViewer();
         if (outlineViewer != null) {
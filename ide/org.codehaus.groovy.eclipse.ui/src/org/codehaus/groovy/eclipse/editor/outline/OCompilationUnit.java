@@ -38,6 +38,9 @@ public abstract class OCompilationUnit extends GroovyCompilationUnit implements
 
     private IJavaElement[] children = null;
 
+    /** the module node that {@link #children} were computed from */
+    private ASTNode refreshedFrom = null;
+
     public OCompilationUnit(GroovyCompilationUnit unit) {
         super((PackageFragment) unit.getParent(), unit.getElementName(), unit.getOwner());
         this.unit = unit;
@@ -86,10 +89,91 @@ public abstract class OCompilationUnit extends GroovyCompilationUnit implements
      */
     protected void refresh() {
         if (this.exists()) {
+            this.refreshedFrom = getNode();
             this.children = refreshChildren();
         }
     }
 
+    /**
+     * refresh children only if the unit has been reconciled since they were
+     * last computed. If the new children have the same structure as the old
+     * ones (eg- after an edit inside a method body), the old children, which
+     * the outline viewer still displays, are pointed at the new AST nodes so
+     * that the viewer does not need to be refreshed. Changes to elements from
+     * the Java model reach the viewer through Java element deltas.
+     *
+     * @return true iff the structure of the outline changed
+     */
+    protected boolean refreshIfChanged() {
+        if (children != null && getNode() == refreshedFrom) {
+            return false;
+        }
+        IJavaElement[] oldChildren = children;
+        refresh();
+        if (oldChildren == null || children == null) {
+            return true;
+        }
+        if (oldChildren != children && sameStructure(oldChildren, children)) {
+            updateNodes(oldChildren, children);
+            // keep the generation that the viewer displays, so that the next edit updates it again
+            children = oldChildren;
+            return false;
+        }
+        return oldChildren != children;
+    }
+
+    private static boolean sameStructure(IJavaElement[] oldElements, IJavaElement[] newElements) {
+        if (oldElements.length != newElements.length) {
+            return false;
+        }
+        for (int i = 0; i < oldElements.length; i++) {
+            IJavaElement oldElement = oldElements[i], newElement = newElements[i];
+            if (oldElement.getClass() != newElement.getClass() || !oldElement.equals(newElement)) {
+                return false;
+            }
+            if (oldElement instanceof OField) {
+                if (!equal(((OField) oldElement).getTypeSignature(), ((OField) newElement).getTypeSignature())) {
+                    return false;
+                }
+            } else if (oldElement instanceof OMethod) {
+                if (!equal(((OMethod) oldElement).getReturnTypeName(), ((OMethod) newElement).getReturnTypeName())) {
+                    return false;
+                }
+            } else if (oldElement instanceof OType) {
+                try {
+                    if (!sameStructure(((OType) oldElement).getChildren(), ((OType) newElement).getChildren())) {
+                        return false;
+                    }
+                } catch (JavaModelException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void updateNodes(IJavaElement[] oldElements, IJavaElement[] newElements) {
+        for (int i = 0; i < oldElements.length; i++) {
+            IJavaElement oldElement = oldElements[i], newElement = newElements[i];
+            if (oldElement instanceof OField) {
+                ((OField) oldElement).node = ((OField) newElement).node;
+            } else if (oldElement instanceof OMethod) {
+                ((OMethod) oldElement).node = ((OMethod) newElement).node;
+            } else if (oldElement instanceof OType) {
+                ((OType) oldElement).node = ((OType) newElement).node;
+                try {
+                    updateNodes(((OType) oldElement).getChildren(), ((OType) newElement).getChildren());
+                } catch (JavaModelException e) {
+                    // already compared successfully in sameStructure
+                }
+            }
+        }
+    }
+
+    private static boolean equal(String s1, String s2) {
+        return s1 == null ? s2 == null : s1.equals(s2);
+    }
+
     /**
      * get children
      */
@@ -15,19 +15,47 @@
  */
 package org.codehaus.groovy.eclipse.refactoring.actions;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.codehaus.groovy.eclipse.core.GroovyCore;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.ui.fix.AbstractCleanUp;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 
+/**
+ * Checks that every unit to clean up is a Groovy unit with a module node. Clean ups whose fixes need the module nodes can
+ * {@link #shouldPrepareModuleInfos ask} for them to be built in parallel and kept until {@link #checkPostConditions}, so that
+ * the fixes of a clean up over many units do not have to parse them again; see {@link #getPreparedModuleInfo}.
+ */
 public abstract class AbstractGroovyCleanUp extends AbstractCleanUp {
 
     protected RefactoringStatus status;
 
+    private static class PreparedUnit {
+        final char[] contents;
+        final ModuleNodeInfo info;
+
+        PreparedUnit(char[] contents, ModuleNodeInfo info) {
+            this.contents = contents;
+            this.info = info;
+        }
+    }
+
+    private final Map<ICompilationUnit, PreparedUnit> preparedUnits = new ConcurrentHashMap<ICompilationUnit, PreparedUnit>();
+
     @Override
     public RefactoringStatus checkPreConditions(IJavaProject project,
             ICompilationUnit[] compilationUnits, IProgressMonitor monitor)
@@ -36,13 +64,28 @@ public abstract class AbstractGroovyCleanUp extends AbstractCleanUp {
         RefactoringStatus status = new RefactoringStatus();
 
         try {
+            List<GroovyCompilationUnit> groovyUnits = new ArrayList<GroovyCompilationUnit>(compilationUnits.length);
             for (ICompilationUnit unit : compilationUnits) {
                 if (!(unit instanceof GroovyCompilationUnit)) {
                     status.addError("Cannot use cleanup on a non-groovy compilation unit: " + unit.getElementName());
+                } else if (shouldPrepareModuleInfos()) {
+                    groovyUnits.add((GroovyCompilationUnit) unit);
                 } else if (((GroovyCompilationUnit) unit).getModuleNode() == null) {
                     status.addError("Cannot find module node for compilation unit: " + unit.getElementName());
                 }
             }
+            if (!groovyUnits.isEmpty()) {
+                prepareUnits(groovyUnits, monitor);
+                for (GroovyCompilationUnit unit : groovyUnits) {
+                    PreparedUnit prepared = preparedUnits.get(unit);
+                    if (prepared == null || prepared.info == null || prepared.info.module == null) {
+                        status.addError("Cannot find module node for compilation unit: " + unit.getElementName());
+                    }
+                }
+            }
+        } catch (OperationCanceledException e) {
+            clearPreparedUnits();
+            throw e;
         } catch (Exception e) {
             GroovyCore.logException("Cannot perform cleanup.", e);
             status.addFatalError("Cannot perform cleanup. See error log. " + e.getMessage());
@@ -51,6 +94,72 @@ public abstract class AbstractGroovyCleanUp extends AbstractCleanUp {
         return status;
     }
 
+    /**
+     * Determines whether {@link #checkPreConditions} builds and keeps the module infos of the units. The module infos hold on
+     * to the ASTs and their lookup environments until the clean up is done, so only clean ups that use
+     * {@link #getPreparedModuleInfo} should answer true.
+     */
+    protected boolean shouldPrepareModuleInfos() {
+        return false;
+    }
+
+    private void prepareUnits(List<GroovyCompilationUnit> units, final IProgressMonitor monitor) throws Exception {
+        int threads = Math.min(units.size(), Runtime.getRuntime().availableProcessors());
+        if (threads <= 1) {
+            for (GroovyCompilationUnit unit : units) {
+                checkCanceled(monitor);
+                prepareUnit(unit);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>(units.size());
+            for (final GroovyCompilationUnit unit : units) {
+                futures.add(executor.submit(new Runnable() {
+                    public void run() {
+                        if (monitor == null || !monitor.isCanceled()) {
+                            prepareUnit(unit);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+                checkCanceled(monitor);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void checkCanceled(IProgressMonitor monitor) {
+        if (monitor != null && monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
+    }
+
+    private void prepareUnit(GroovyCompilationUnit unit) {
+        char[] contents = unit.getContents();
+        preparedUnits.put(unit, new PreparedUnit(contents, unit.getModuleInfo(true)));
+    }
+
+    /**
+     * @return the module info built for the unit by {@link #checkPreConditions}, or null if there is none or the unit has
+     *         changed since (eg- another clean up has been applied to it)
+     */
+    protected ModuleNodeInfo getPreparedModuleInfo(ICompilationUnit unit) {
+        PreparedUnit prepared = preparedUnits.get(unit);
+        if (prepared != null && prepared.info != null && CharOperation.equals(prepared.contents, unit.getContents())) {
+            return prepared.info;
+        }
+        return null;
+    }
+
+    protected void clearPreparedUnits() {
+        preparedUnits.clear();
+    }
+
     @Override
     public RefactoringStatus checkPostConditions(IProgressMonitor monitor) throws CoreException {
         try {
@@ -61,6 +170,7 @@ public abstract class AbstractGroovyCleanUp extends AbstractCleanUp {
             }
         } finally {
             status = null;
+            clearPreparedUnits();
         }
     }
 }
@@ -46,6 +46,9 @@ public class GroovyImportsCleanUp extends AbstractGroovyCleanUp {
 
     private ImportsCleanUp javaCleanUp = new ImportsCleanUp(Collections.singletonMap(CleanUpConstants.ORGANIZE_IMPORTS, CleanUpOptions.TRUE));
 
+    // shared by the units of one clean up so that each missing type is searched for once
+    private TypeSearch typeSearch;
+
     public CleanUpRequirements getRequirements() {
         return javaCleanUp.getRequirements();
     }
@@ -54,6 +57,11 @@ public class GroovyImportsCleanUp extends AbstractGroovyCleanUp {
         return javaCleanUp.getStepDescriptions();
     }
 
+    @Override
+    protected boolean shouldPrepareModuleInfos() {
+        return true;
+    }
+
     public RefactoringStatus checkPreConditions(IJavaProject project, ICompilationUnit[] compilationUnits, IProgressMonitor monitor) throws CoreException {
         List<ICompilationUnit> groovyUnits = new ArrayList<ICompilationUnit>(compilationUnits.length);
         //List<ICompilationUnit> otherUnits = new ArrayList<ICompilationUnit>(compilationUnits.length);
@@ -64,6 +72,7 @@ public class GroovyImportsCleanUp extends AbstractGroovyCleanUp {
                 otherUnits.add(unit);
             }*/
         }
+        typeSearch = new TypeSearch();
         RefactoringStatus groovyStatus = super.checkPreConditions(project, groovyUnits.toArray(new ICompilationUnit[groovyUnits.size()]), monitor);
         //RefactoringStatus otherStatus = javaCleanUp.checkPreConditions(project, otherUnits.toArray(new ICompilationUnit[otherUnits.size()]), monitor);
                 javaCleanUp.checkPreConditions(project, new ICompilationUnit[0], monitor);
@@ -71,6 +80,8 @@ public class GroovyImportsCleanUp extends AbstractGroovyCleanUp {
     }
 
     public RefactoringStatus checkPostConditions(IProgressMonitor monitor) throws CoreException {
+        typeSearch = null;
+        clearPreparedUnits();
         return javaCleanUp.checkPostConditions(monitor);
     }
 
@@ -88,7 +99,8 @@ public class GroovyImportsCleanUp extends AbstractGroovyCleanUp {
             }
         };
 
-        OrganizeGroovyImports op = new OrganizeGroovyImports((GroovyCompilationUnit) unit, query);
+        OrganizeGroovyImports op = new OrganizeGroovyImports((GroovyCompilationUnit) unit, query,
+                getPreparedModuleInfo(unit), typeSearch != null ? typeSearch : new TypeSearch());
         final TextEdit edit = op.calculateMissingImports();
         if (status == null) {
             status = new RefactoringStatus();
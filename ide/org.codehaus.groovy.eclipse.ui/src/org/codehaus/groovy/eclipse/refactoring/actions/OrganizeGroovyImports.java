@@ -58,7 +58,6 @@ import org.codehaus.groovy.eclipse.core.util.ArrayUtils;
 import org.codehaus.groovy.eclipse.refactoring.actions.TypeSearch.UnresolvedTypeData;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.ModuleNodeMapper.ModuleNodeInfo;
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
@@ -421,12 +420,26 @@ public class OrganizeGroovyImports {
 
     private IChooseImportQuery query;
     private final GroovyCompilationUnit unit;
+    private final TypeSearch typeSearch;
+    private ModuleNodeInfo info;
     private Map<String, UnresolvedTypeData> missingTypes;
     private Map<String, ImportNode> importsSlatedForRemoval;
 
     public OrganizeGroovyImports(GroovyCompilationUnit unit, IChooseImportQuery query) {
+        this(unit, query, null, new TypeSearch());
+    }
+
+    /**
+     * For organizing the imports of many units at once.
+     *
+     * @param info the module info of the unit if it has already been built for its current contents, or null
+     * @param typeSearch shared by all the units so that each missing type is only searched for once
+     */
+    public OrganizeGroovyImports(GroovyCompilationUnit unit, IChooseImportQuery query, ModuleNodeInfo info, TypeSearch typeSearch) {
         this.unit = unit;
         this.query = query;
+        this.info = info;
+        this.typeSearch = typeSearch;
     }
 
     public boolean calculateAndApplyMissingImports() throws JavaModelException {
@@ -447,7 +460,9 @@ public class OrganizeGroovyImports {
         }
         try {
 
-        ModuleNodeInfo info = unit.getModuleInfo(true);
+        if (info == null) {
+            info = unit.getModuleInfo(true);
+        }
         if (info.isEmpty() || isUnclean(info, unit)) {
             return null;
         }
@@ -570,8 +585,8 @@ public class OrganizeGroovyImports {
         Set<String> starImports = new LinkedHashSet<String>();
         Set<String> typeImports = new LinkedHashSet<String>();
 
-        if (unit.getModuleNode().getPackageName() != null) {
-            starImports.add(unit.getModuleNode().getPackageName());
+        if (info.module.getPackageName() != null) {
+            starImports.add(info.module.getPackageName());
         } else {
             starImports.add("");
         }
@@ -602,7 +617,7 @@ public class OrganizeGroovyImports {
                 }
             }
             for (String si : starImports) {
-                IType type = unit.getJavaProject().findType(si + typeName, (IProgressMonitor) null);
+                IType type = typeSearch.findType(unit.getJavaProject(), si + typeName);
                 if (type != null) {
                     it.remove();
                     continue on;
@@ -613,7 +628,7 @@ public class OrganizeGroovyImports {
 
     private IType[] resolveMissingTypes() throws JavaModelException {
         // fill in all the potential matches
-        new TypeSearch().searchForTypes(unit, missingTypes); // TODO: This is insanely slow!
+        typeSearch.searchForTypes(unit, missingTypes);
 
         List<TypeNameMatch> missingTypesNoChoiceRequired = new ArrayList<TypeNameMatch>();
         List<TypeNameMatch[]> missingTypesChoiceRequired = new ArrayList<TypeNameMatch[]>();
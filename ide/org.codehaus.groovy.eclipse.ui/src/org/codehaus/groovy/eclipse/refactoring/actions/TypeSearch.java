@@ -16,15 +16,20 @@
 package org.codehaus.groovy.eclipse.refactoring.actions;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import org.codehaus.groovy.eclipse.core.GroovyCore;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
@@ -35,11 +40,21 @@ import org.eclipse.jdt.internal.corext.util.TypeNameMatchCollector;
 /**
  * Use a SearchEngine to look for the Java types
  * This will not find inner types, however
+ * <p>
+ * The types found for each simple name, and the types looked up by
+ * {@link #findType}, are remembered per project for the life of the instance,
+ * so an instance can be shared by everything that looks for types over a short
+ * period, like organizing the imports of many units at once.
  *
  * @author Andrew Eisenberg
  * @author Nieraj Singh
  */
 public class TypeSearch {
+
+    private final Map<IJavaProject, Map<String, List<TypeNameMatch>>> matches = new HashMap<IJavaProject, Map<String, List<TypeNameMatch>>>();
+
+    private final Map<IJavaProject, Map<String, IType>> types = new HashMap<IJavaProject, Map<String, IType>>();
+
     /**
      * From {@link OrganizeImportsOperation.TypeReferenceProcessor.UnresolvedTypeData}
      */
@@ -77,26 +92,79 @@ public class TypeSearch {
      * @see OrganizeImportsOperation.TypeReferenceProcessor#process(org.eclipse.core.runtime.IProgressMonitor)
      */
     public void searchForTypes(GroovyCompilationUnit unit, Map<String, UnresolvedTypeData> missingTypes) throws JavaModelException {
-        char[][] allTypes = new char[missingTypes.size()][];
-        int i = 0;
-        for (String simpleName : missingTypes.keySet()) {
-            allTypes[i++] = simpleName.toCharArray();
+        Map<String, List<TypeNameMatch>> found = getTypeNameMatches(unit.getJavaProject(), missingTypes.keySet());
+
+        for (Map.Entry<String, UnresolvedTypeData> entry : missingTypes.entrySet()) {
+            UnresolvedTypeData data = entry.getValue();
+            for (TypeNameMatch match : found.get(entry.getKey())) {
+                if (isOfKind(match, data.isAnnotation)) {
+                    data.addInfo(match);
+                }
+            }
         }
-        final List<TypeNameMatch> typesFound = new ArrayList<TypeNameMatch>();
-        TypeNameMatchCollector collector = new TypeNameMatchCollector(typesFound);
-        IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] { unit.getJavaProject() });
-        new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, null);
-
-        for (TypeNameMatch match : typesFound) {
-            UnresolvedTypeData data = missingTypes.get(match.getSimpleTypeName());
-            if (data == null) {
-                GroovyCore.logException("GRECLIPSE-735: Match not found in missing types: " + match.getFullyQualifiedName(), new Exception());
-                continue;
+    }
+
+    /**
+     * @return the types found in the project for each of the simple names; only the names that have not been searched for
+     *         before are searched for
+     */
+    private synchronized Map<String, List<TypeNameMatch>> getTypeNameMatches(IJavaProject project, Iterable<String> simpleNames) throws JavaModelException {
+        Map<String, List<TypeNameMatch>> projectMatches = matches.get(project);
+        if (projectMatches == null) {
+            projectMatches = new HashMap<String, List<TypeNameMatch>>();
+            matches.put(project, projectMatches);
+        }
+        List<String> unsearched = new ArrayList<String>();
+        for (String simpleName : simpleNames) {
+            if (!projectMatches.containsKey(simpleName)) {
+                unsearched.add(simpleName);
             }
-            if (isOfKind(match, data.isAnnotation)) {
-                data.addInfo(match);
+        }
+        if (!unsearched.isEmpty()) {
+            char[][] allTypes = new char[unsearched.size()][];
+            int i = 0;
+            for (String simpleName : unsearched) {
+                allTypes[i++] = simpleName.toCharArray();
             }
+            final List<TypeNameMatch> typesFound = new ArrayList<TypeNameMatch>();
+            TypeNameMatchCollector collector = new TypeNameMatchCollector(typesFound);
+            IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] { project });
+            new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, null);
+
+            for (String simpleName : unsearched) {
+                projectMatches.put(simpleName, new ArrayList<TypeNameMatch>(2));
+            }
+            for (TypeNameMatch match : typesFound) {
+                List<TypeNameMatch> list = projectMatches.get(match.getSimpleTypeName());
+                if (list == null) {
+                    GroovyCore.logException("GRECLIPSE-735: Match not found in missing types: " + match.getFullyQualifiedName(), new Exception());
+                    continue;
+                }
+                list.add(match);
+            }
+        }
+        Map<String, List<TypeNameMatch>> result = new HashMap<String, List<TypeNameMatch>>();
+        for (String simpleName : simpleNames) {
+            result.put(simpleName, Collections.unmodifiableList(projectMatches.get(simpleName)));
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link IJavaProject#findType(String)}, but remembers the answer (found or not) for the project.
+     */
+    public synchronized IType findType(IJavaProject project, String fullyQualifiedName) throws JavaModelException {
+        Map<String, IType> projectTypes = types.get(project);
+        if (projectTypes == null) {
+            projectTypes = new HashMap<String, IType>();
+            types.put(project, projectTypes);
+        }
+        if (projectTypes.containsKey(fullyQualifiedName)) {
+            return projectTypes.get(fullyQualifiedName);
         }
+        IType type = project.findType(fullyQualifiedName, (IProgressMonitor) null);
+        projectTypes.put(fullyQualifiedName, type);
+        return type;
     }
 
     /**
@@ -1115,7 +1115,12 @@ public ReferenceBinding getResolvedType(char[][] compoundName, Scope scope) {
 * Ask the oracle for the package if its not in the cache.
 * Answer null if the package cannot be found.
 */
+// GROOVY edit - the groovy compilation unit scope checks whether a name starts with a package
+/* old {
 PackageBinding getTopLevelPackage(char[] name) {
+} new */
+public PackageBinding getTopLevelPackage(char[] name) {
+// GROOVY end
 	PackageBinding packageBinding = getPackage0(name);
 	if (packageBinding != null) {
 		if (packageBinding == TheNotFoundPackage)
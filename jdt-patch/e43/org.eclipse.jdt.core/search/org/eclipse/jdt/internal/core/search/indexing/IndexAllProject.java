@@ -1,3 +1,4 @@
+// GROOVY PATCHED
 /*******************************************************************************
  * Copyright (c) 2000, 2011 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
@@ -12,6 +13,7 @@ package org.eclipse.jdt.internal.core.search.indexing;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashSet;
 
 import org.eclipse.core.filesystem.EFS;
@@ -203,6 +205,17 @@ public class IndexAllProject extends IndexRequest {
 			SourceElementParser parser = this.manager.getSourceElementParser(javaProject, null/*requestor will be set by indexer*/);
 			Object[] names = indexedFileNames.keyTable;
 			Object[] values = indexedFileNames.valueTable;
+			// GROOVY add - let the parser start on the files that are about to be indexed, in the order they will be indexed
+			if (parser instanceof IndexingParser) {
+				ArrayList sources = new ArrayList();
+				for (int i = 0, namesLength = names.length; i < namesLength; i++) {
+					if (names[i] != null && values[i] != OK && values[i] != DELETED) {
+						sources.add(values[i]);
+					}
+				}
+				((IndexingParser) parser).prepareToIndex((IFile[]) sources.toArray(new IFile[sources.size()]));
+			}
+			// GROOVY end
 			for (int i = 0, namesLength = names.length; i < namesLength; i++) {
 				String name = (String) names[i];
 				if (name != null) {
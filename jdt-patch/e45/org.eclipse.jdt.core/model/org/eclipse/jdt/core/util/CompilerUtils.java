@@ -17,8 +17,11 @@ package org.eclipse.jdt.core.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.PropertyResourceBundle;
@@ -29,7 +32,10 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
@@ -45,6 +51,55 @@ public class CompilerUtils {
 
 	public static final int IsGrails = 0x0001;
 
+	/**
+	 * Computed Groovy classpaths by project name, shared by the builder and the reconciler.  An entry is reused while the
+	 * project's raw classpath, output location and nature are unchanged, and is dropped when a Java element delta reports a
+	 * classpath change for the project or for any project that it depends on.  Since the same string is handed out each
+	 * time, the classpath comparison that GroovyParser makes to find a project's transform loader is an identity check.
+	 */
+	private static final Map<String, CachedClasspath> classpathCache = new HashMap<String, CachedClasspath>();
+
+	/** Incremented whenever entries are dropped, so that a classpath computed before a change is not stored after it */
+	private static int classpathCacheGeneration;
+
+	private static int classpathCacheHits, classpathCacheMisses;
+
+	private static IElementChangedListener classpathChangeListener;
+
+	private static class CachedClasspath {
+		final IClasspathEntry[] rawClasspath;
+		final IPath outputLocation;
+		final boolean groovyNature;
+		/** names of this project and of every project whose entries were included */
+		final Set<String> projects;
+		final String classpath;
+
+		CachedClasspath(IClasspathEntry[] rawClasspath, IPath outputLocation, boolean groovyNature, Set<String> projects, String classpath) {
+			this.rawClasspath = rawClasspath;
+			this.outputLocation = outputLocation;
+			this.groovyNature = groovyNature;
+			this.projects = projects;
+			this.classpath = classpath;
+		}
+
+		boolean isValidFor(IClasspathEntry[] raw, IPath output, boolean nature) {
+			return nature == this.groovyNature && output.equals(this.outputLocation) && Arrays.equals(raw, this.rawClasspath);
+		}
+	}
+
+	private static class ClasspathChangeListener implements IElementChangedListener {
+		public void elementChanged(ElementChangedEvent event) {
+			IJavaElementDelta[] projectDeltas = event.getDelta().getAffectedChildren();
+			for (int i = 0, n = projectDeltas.length; i < n; i += 1) {
+				IJavaElementDelta delta = projectDeltas[i];
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED
+						| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					clearClasspathCache(delta.getElement().getElementName());
+				}
+			}
+		}
+	}
+
 	/**
 	 * Configure a real compiler options object based on the project.  If anything goes wrong it will configure the options to just build java.
 	 */
@@ -223,8 +278,77 @@ public class CompilerUtils {
 
 	// visible for testing
 	public static String calculateClasspath(IJavaProject javaProject) {
+		String projectName = javaProject.getElementName();
+		IClasspathEntry[] rawClasspath;
+		IPath outputLocation;
+		boolean groovyNature;
+		try {
+			rawClasspath = javaProject.getRawClasspath();
+			outputLocation = javaProject.getOutputLocation();
+			groovyNature = isGroovyNaturedProject(javaProject.getProject());
+		} catch (CoreException e) {
+			// let the uncached computation report the problem
+			return computeClasspath(javaProject, new HashSet<String>());
+		}
+
+		int generation;
+		synchronized (classpathCache) {
+			CachedClasspath cached = classpathCache.get(projectName);
+			if (cached != null && cached.isValidFor(rawClasspath, outputLocation, groovyNature)) {
+				classpathCacheHits += 1;
+				return cached.classpath;
+			}
+			classpathCacheMisses += 1;
+			generation = classpathCacheGeneration;
+			if (classpathChangeListener == null) {
+				classpathChangeListener = new ClasspathChangeListener();
+				JavaCore.addElementChangedListener(classpathChangeListener, ElementChangedEvent.POST_CHANGE);
+			}
+		}
+
+		Set<String> projects = new HashSet<String>();
+		String classpath = computeClasspath(javaProject, projects);
+		projects.add(projectName);
+		synchronized (classpathCache) {
+			if (generation == classpathCacheGeneration) {
+				classpathCache.put(projectName, new CachedClasspath(rawClasspath, outputLocation, groovyNature, projects, classpath));
+			}
+		}
+		return classpath;
+	}
+
+	/**
+	 * Drops the cached classpath of the named project and of every project that depends on it.
+	 */
+	public static void clearClasspathCache(String projectName) {
+		synchronized (classpathCache) {
+			classpathCacheGeneration += 1;
+			for (Iterator<CachedClasspath> it = classpathCache.values().iterator(); it.hasNext();) {
+				CachedClasspath cached = it.next();
+				if (cached.projects.contains(projectName)) {
+					it.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of classpath requests that were answered from the cache and that had to be computed, in that order
+	 */
+	public static int[] getClasspathCacheStatistics() {
+		synchronized (classpathCache) {
+			return new int[] {classpathCacheHits, classpathCacheMisses};
+		}
+	}
+
+	/**
+	 * @param projects collects the names of the projects whose entries are included
+	 */
+	private static String computeClasspath(IJavaProject javaProject, Set<String> projects) {
 		try {
 			Set<String> accumulatedPathEntries = new LinkedHashSet<String>();
+			// kept apart from the dependencies, since a project that is only referenced by a library entry still has to be visited
+			Set<String> visitedProjects = new HashSet<String>();
 			IProject project = javaProject.getProject();
 			String projectName = project.getName();
 			IPath defaultOutputPath = javaProject.getOutputLocation();
@@ -251,6 +375,7 @@ public class CompilerUtils {
 							try {
 								IProject iproject = project.getWorkspace().getRoot().getProject(segmentZero);
 								if (iproject != null) {
+									projects.add(segmentZero);
 									IFile ifile = iproject.getFile(cpePath.removeFirstSegments(1));
 									IPath ipath = (ifile == null ? null : ifile.getRawLocation());
 									pathElement = (ipath == null ? null : ipath.toOSString());
@@ -261,7 +386,7 @@ public class CompilerUtils {
 						}
 						if (cpe.getEntryKind() == IClasspathEntry.CPE_PROJECT) {
 							// the classpath entry is a dependency on another project
-							computeDependenciesFromProject(project, segmentZero, accumulatedPathEntries);
+							computeDependenciesFromProject(project, segmentZero, accumulatedPathEntries, visitedProjects);
 							// FIXASC what does all this look like for batch compilation?  Should it be passed in rather than computed here
 						} else if (pathElement == null) {
 							pathElement = cpe.getPath().toOSString();
@@ -271,6 +396,7 @@ public class CompilerUtils {
 						accumulatedPathEntries.add(pathElement);
 					}
 				}
+				projects.addAll(visitedProjects);
 				accumulatedPathEntries.add(defaultOutputLocation);
 
 				// Add output locations which are not default
@@ -312,9 +438,13 @@ public class CompilerUtils {
 	 * @param baseProject the original project for which the classpath is being computed
 	 * @param otherProject a project something in the dependency chain for the original project
 	 * @param accumulatedPathEntries a String set of classpath entries, into which new entries should be added
+	 * @param visitedProjects names of the projects whose entries have already been added; a project is only visited once
 	 */
-	private static void computeDependenciesFromProject(IProject baseProject, String otherProject, Set<String> accumulatedPathEntries)
-			throws JavaModelException {
+	private static void computeDependenciesFromProject(IProject baseProject, String otherProject, Set<String> accumulatedPathEntries,
+			Set<String> visitedProjects) throws JavaModelException {
+		if (!visitedProjects.add(otherProject)) {
+			return;
+		}
 
 		IProject iproject = baseProject.getWorkspace().getRoot().getProject(otherProject);
 		IJavaProject iJavaProject = JavaCore.create(iproject);
@@ -335,7 +465,7 @@ public class CompilerUtils {
 						accumulatedPathEntries.add(iproject.getFile(cpePath.removeFirstSegments(1)).getRawLocation().toOSString());
 					} else if (cpe.getEntryKind() == IClasspathEntry.CPE_PROJECT) {
 						// segmentZero is a project name
-						computeDependenciesFromProject(baseProject, segmentZero, accumulatedPathEntries);
+						computeDependenciesFromProject(baseProject, segmentZero, accumulatedPathEntries, visitedProjects);
 					} else {
 						String otherPathElement = null;
 						if (segmentZero != null && segmentZero.equals(iproject.getName())) {